@@ -0,0 +1,66 @@
+package vn.edu.iuh.fit.backend.dto.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and writing a feed page the way GET /api/posts does.
+ * mapRows is the projection constructor that replaced PostServiceImpl.convertToDto,
+ * serialize is the message converter writing BaseResponse<PaginatedPostsResponse> with Boot's Jackson settings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostResponseSerializationBenchmark {
+
+    @Param({"10", "50", "100"})
+    public int posts;
+
+    private ObjectMapper objectMapper;
+    private List<Object[]> rows;
+    private BaseResponse<PaginatedPostsResponse<PostResponse>> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        rows = new ArrayList<>(posts);
+        Date now = new Date();
+        for (long id = 1; id <= posts; id++) {
+            rows.add(new Object[]{id, "Tiêu đề bài viết số " + id, "Nội dung bài viết. ".repeat(50), now, now,
+                    id % 10, "user" + id % 10, "Nguyễn", "Văn A"});
+        }
+        page = new BaseResponse<>(true, "Lấy danh sách bài viết thành công!", mapRows());
+    }
+
+    @Benchmark
+    public PaginatedPostsResponse<PostResponse> mapRows() {
+        List<PostResponse> items = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            items.add(new PostResponse((Long) row[0], (String) row[1], (String) row[2], (Date) row[3], (Date) row[4],
+                    (Long) row[5], (String) row[6], (String) row[7], (String) row[8]));
+        }
+        PaginatedPostsResponse<PostResponse> response = new PaginatedPostsResponse<>();
+        response.setPosts(items);
+        response.setTotalElements(1000);
+        response.setTotalPages(1000 / posts);
+        response.setHasNext(true);
+        return response;
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,95 @@
+package vn.edu.iuh.fit.backend.executor;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request execution on Tomcat's 200 platform threads versus one virtual thread per request.
+ * 1000 clients keep requests in flight. Each request blocks 5 ms outside the database and
+ * dbShare of them also run a 2 ms query on a 10 connection pool. virtual-limited puts the
+ * ConcurrencyLimitFilter gate (10 connections x 8) in front of the virtual threads.
+ * Throughput and SampleTime (p99) come out of the same run.
+ * Virtual threads need Java 21: mvn -Pbenchmark,java21 -DskipTests verify -Djmh.args="RequestExecution"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1000)
+@Fork(1)
+public class RequestExecutionBenchmark {
+
+    static final int TOMCAT_THREADS = 200;
+    static final int POOL_SIZE = 10;
+    static final int REQUESTS_PER_CONNECTION = 8;
+    static final long IO_MILLIS = 5;
+    static final long QUERY_MILLIS = 2;
+
+    @Param({"platform", "virtual", "virtual-limited"})
+    public String mode;
+
+    @Param({"1.0", "0.2"})
+    public double dbShare;
+
+    private ExecutorService platformThreads;
+    private AsyncTaskExecutor executor;
+    private Semaphore connections;
+    private Semaphore limiter;
+
+    @Setup
+    public void setUp() {
+        connections = new Semaphore(POOL_SIZE, true);
+        limiter = "virtual-limited".equals(mode) ? new Semaphore(POOL_SIZE * REQUESTS_PER_CONNECTION, true) : null;
+        if ("platform".equals(mode)) {
+            platformThreads = Executors.newFixedThreadPool(TOMCAT_THREADS);
+            executor = new TaskExecutorAdapter(platformThreads);
+        } else {
+            executor = new VirtualThreadTaskExecutor("request-");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (platformThreads != null) {
+            platformThreads.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public boolean request() throws ExecutionException, InterruptedException {
+        return executor.submit(this::handle).get();
+    }
+
+    // false when the limiter shed the request, as the filter would answer 503
+    private boolean handle() throws InterruptedException {
+        if (limiter != null && !limiter.tryAcquire(1, TimeUnit.SECONDS)) {
+            return false;
+        }
+        try {
+            Thread.sleep(IO_MILLIS);
+            if (ThreadLocalRandom.current().nextDouble() < dbShare) {
+                connections.acquire();
+                try {
+                    Thread.sleep(QUERY_MILLIS);
+                } finally {
+                    connections.release();
+                }
+            }
+            return true;
+        } finally {
+            if (limiter != null) {
+                limiter.release();
+            }
+        }
+    }
+}
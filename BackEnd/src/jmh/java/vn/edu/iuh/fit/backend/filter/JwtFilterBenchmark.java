@@ -0,0 +1,73 @@
+package vn.edu.iuh.fit.backend.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import vn.edu.iuh.fit.backend.model.Role;
+import vn.edu.iuh.fit.backend.model.User;
+import vn.edu.iuh.fit.backend.security.JwtUtil;
+import vn.edu.iuh.fit.backend.security.JwtVerificationBenchmark;
+import vn.edu.iuh.fit.backend.security.SecurityEpochRegistry;
+import vn.edu.iuh.fit.backend.service.UserService;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pass of JwtFilter over a mocked request carrying a valid bearer token, timers included.
+ * stateless=false stubs UserService.loadUserByUsername, so it shows the filter's own cost
+ * and not the database lookup it would make in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean stateless;
+
+    private JwtFilter jwtFilter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = JwtVerificationBenchmark.newJwtUtil();
+        Role role = new Role();
+        role.setRoleName("ROLE_USER");
+        User user = new User();
+        user.setUserId(1L);
+        user.setUsername("alice");
+        user.setRoles(Set.of(role));
+        authorization = "Bearer " + jwtUtil.generateToken(user);
+
+        UserService userService = Mockito.mock(UserService.class);
+        Mockito.when(userService.loadUserByUsername("alice")).thenReturn(new org.springframework.security.core.userdetails.User(
+                "alice", "", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        jwtFilter = new JwtFilter(jwtUtil, userService, new SecurityEpochRegistry(null, null), stateless,
+                new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filter() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            jwtFilter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+}
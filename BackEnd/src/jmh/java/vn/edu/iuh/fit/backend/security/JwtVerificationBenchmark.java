@@ -0,0 +1,103 @@
+package vn.edu.iuh.fit.backend.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import vn.edu.iuh.fit.backend.model.Role;
+import vn.edu.iuh.fit.backend.model.User;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JWT verification in JwtFilter.
+ * legacyPerRequest reproduces the old path: key decoded and parser built on every call,
+ * signature verified three times (extractUsername, then extractUsername and extractExpiration in validateToken).
+ * generateToken signs a token with the stateless claims, validateToken is the full check of a fresh token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    static final String SECRET = "dGVzdC1zZWNyZXQta2V5LWZvci1wb3N0LW1hbmFnZW1lbnQtc3lzdGVtLTI1Ni1iaXRz";
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private User user;
+    private JwtPrincipal principal;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = newJwtUtil();
+        token = Jwts.builder()
+                .claims(Map.of("isAdmin", false, "isUser", true))
+                .subject("alice")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .compact();
+
+        Role role = new Role();
+        role.setRoleName("ROLE_USER");
+        user = new User();
+        user.setUserId(1L);
+        user.setUsername("alice");
+        user.setRoles(Set.of(role));
+        principal = jwtUtil.principalOf(jwtUtil.parseClaims(jwtUtil.generateToken(user)));
+    }
+
+    public static JwtUtil newJwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil(null);
+        ReflectionTestUtils.setField(jwtUtil, "SECRET_KEY", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedTokenCacheSize", 10_000L);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    @Benchmark
+    public boolean legacyPerRequest() {
+        String username = legacyParse(token).getSubject();
+        boolean sameUser = legacyParse(token).getSubject().equals(username);
+        return sameUser && !legacyParse(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public Claims singleVerification() {
+        return jwtUtil.verifyClaims(token);
+    }
+
+    @Benchmark
+    public Claims cachedVerification() {
+        return jwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(jwtUtil.verifyClaims(token), principal);
+    }
+
+    private Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
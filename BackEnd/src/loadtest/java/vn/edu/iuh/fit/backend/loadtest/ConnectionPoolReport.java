@@ -0,0 +1,94 @@
+package vn.edu.iuh.fit.backend.loadtest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How long requests wait for a Hikari connection and how long they hold it, per pool.
+ * Means are taken from the timer totals at both ends of the measurement window. Percentiles
+ * come from Micrometer's decaying histogram, which expires after one window length, so they
+ * cover most of the window but not exactly all of it.
+ */
+class ConnectionPoolReport {
+
+    private static final String ACQUIRE = "hikaricp.connections.acquire";
+    private static final String USAGE = "hikaricp.connections.usage";
+
+    private final MeterRegistry registry;
+    private final Map<String, Totals> start = new HashMap<>();
+    private long startNanos;
+    private long stopNanos;
+
+    ConnectionPoolReport(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    void startMeasuring() {
+        startNanos = System.nanoTime();
+        for (Timer timer : timers()) {
+            start.put(key(timer), Totals.of(timer));
+        }
+    }
+
+    void stopMeasuring() {
+        stopNanos = System.nanoTime();
+    }
+
+    List<Row> rows() {
+        double seconds = (stopNanos - startNanos) / 1e9;
+        List<Row> rows = new ArrayList<>();
+        for (Timer timer : timers()) {
+            Totals before = start.getOrDefault(key(timer), new Totals(0, 0));
+            Totals after = Totals.of(timer);
+            long count = after.count() - before.count();
+            double mean = count == 0 ? 0 : (after.totalMillis() - before.totalMillis()) / count;
+            rows.add(new Row(timer.getId().getTag("pool"), timer.getId().getName(), count / seconds, mean,
+                    percentile(timer, 0.5), percentile(timer, 0.99)));
+        }
+        return rows;
+    }
+
+    void print() {
+        System.out.printf("%n%-10s %-30s %10s %9s %9s %9s%n", "pool", "timer", "per s", "mean ms", "p50 ms", "p99 ms");
+        for (Row row : rows()) {
+            System.out.printf("%-10s %-30s %10.1f %9.3f %9.3f %9.3f%n", row.pool(), row.timer(), row.rate(),
+                    row.mean(), row.p50(), row.p99());
+        }
+    }
+
+    private List<Timer> timers() {
+        List<Timer> timers = new ArrayList<>(registry.find(ACQUIRE).timers());
+        timers.addAll(registry.find(USAGE).timers());
+        return timers;
+    }
+
+    private static String key(Timer timer) {
+        return timer.getId().getName() + ":" + timer.getId().getTag("pool");
+    }
+
+    private static double percentile(Timer timer, double percentile) {
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return Double.NaN;
+    }
+
+    private record Totals(long count, double totalMillis) {
+
+        static Totals of(Timer timer) {
+            return new Totals(timer.count(), timer.totalTime(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    record Row(String pool, String timer, double rate, double mean, double p50, double p99) {
+    }
+}
@@ -0,0 +1,106 @@
+package vn.edu.iuh.fit.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms in microseconds. Requests that start before the
+ * measurement window opens are warmup and are dropped, failed requests are only counted.
+ * Latency is measured from send to response in a closed loop, so a stall also slows the
+ * request rate and the tail is understated (coordinated omission).
+ */
+class LatencyReport {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile long measureFrom = Long.MAX_VALUE;
+    private volatile long measureTo = Long.MAX_VALUE;
+
+    void startMeasuring() {
+        measureFrom = System.nanoTime();
+    }
+
+    void stopMeasuring() {
+        measureTo = System.nanoTime();
+    }
+
+    void record(String endpoint, long startNanos, long endNanos, boolean ok) {
+        if (startNanos < measureFrom || startNanos >= measureTo) {
+            return;
+        }
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        if (ok) {
+            stats.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos));
+        } else {
+            stats.errors.increment();
+        }
+    }
+
+    List<Row> rows() {
+        double seconds = (measureTo - measureFrom) / 1e9;
+        List<Row> rows = new ArrayList<>();
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Endpoint stats = entry.getValue();
+            Histogram latency = stats.latency.copy();
+            total.add(latency);
+            totalErrors += stats.errors.sum();
+            rows.add(Row.of(entry.getKey(), latency, stats.errors.sum(), seconds));
+        }
+        rows.add(Row.of("TOTAL", total, totalErrors, seconds));
+        return rows;
+    }
+
+    void print() {
+        System.out.printf("%n%-24s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "max ms");
+        for (Row row : rows()) {
+            System.out.printf("%-24s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    row.endpoint(), row.count(), row.errors(), row.throughput(),
+                    row.p50(), row.p95(), row.p99(), row.p999(), row.max());
+        }
+    }
+
+    void write(Path file, Map<String, Object> settings, List<ConnectionPoolReport.Row> pools) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings);
+        report.put("endpoints", rows());
+        report.put("connectionPools", pools);
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+    }
+
+    private static final class Endpoint {
+        // Auto-resizing, 3 significant digits
+        final ConcurrentHistogram latency = new ConcurrentHistogram(3);
+        final LongAdder errors = new LongAdder();
+    }
+
+    record Row(String endpoint, long count, long errors, double throughput,
+               double p50, double p95, double p99, double p999, double max) {
+
+        static Row of(String endpoint, Histogram latency, long errors, double seconds) {
+            return new Row(endpoint, latency.getTotalCount(), errors, latency.getTotalCount() / seconds,
+                    millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(95)),
+                    millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMaxValue()));
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
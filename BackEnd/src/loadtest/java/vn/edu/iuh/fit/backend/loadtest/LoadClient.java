@@ -0,0 +1,180 @@
+package vn.edu.iuh.fit.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One simulated user: logs in, then runs a weighted mix of operations back to back until
+ * the deadline. Updates and deletes only touch posts this client created, so the seeded
+ * range that reads pick from stays intact.
+ */
+class LoadClient implements Runnable {
+
+    // Weights of login, feed page, single post, create, update and delete
+    private static final int[] MIX = {2, 35, 40, 10, 8, 5};
+    private static final int FEED_PAGES = 10;
+
+    private final HttpClient http;
+    private final ObjectMapper mapper;
+    private final LatencyReport report;
+    private final String baseUrl;
+    private final String username;
+    private final String password;
+    private final long minPostId;
+    private final long maxPostId;
+    private final long deadline;
+    private final Deque<Long> ownPosts = new ArrayDeque<>();
+    private String token;
+
+    LoadClient(HttpClient http, ObjectMapper mapper, LatencyReport report, String baseUrl,
+               String username, String password, long minPostId, long maxPostId, long deadline) {
+        this.http = http;
+        this.mapper = mapper;
+        this.report = report;
+        this.baseUrl = baseUrl;
+        this.username = username;
+        this.password = password;
+        this.minPostId = minPostId;
+        this.maxPostId = maxPostId;
+        this.deadline = deadline;
+    }
+
+    @Override
+    public void run() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            try {
+                if (token == null) {
+                    login();
+                    continue;
+                }
+                switch (pick(random)) {
+                    case 0 -> login();
+                    case 1 -> getFeed(random.nextInt(FEED_PAGES));
+                    case 2 -> getPost(random.nextLong(minPostId, maxPostId + 1));
+                    case 3 -> createPost(random);
+                    case 4 -> updatePost(random);
+                    default -> deletePost(random);
+                }
+            } catch (IOException e) {
+                // Already counted as an error by send()
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static int pick(ThreadLocalRandom random) {
+        int total = 0;
+        for (int weight : MIX) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < MIX.length; i++) {
+            roll -= MIX[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return MIX.length - 1;
+    }
+
+    private void login() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = send("POST /api/auth/login",
+                json("/api/auth/login", "POST", Map.of("username", username, "password", password)));
+        if (isOk(response)) {
+            token = data(response).path("jwt").asText();
+        } else if (token == null) {
+            // Refused by the BCrypt pool while every client logs in at once, back off and retry
+            Thread.sleep(ThreadLocalRandom.current().nextLong(50, 250));
+        }
+    }
+
+    private void getFeed(int page) throws IOException, InterruptedException {
+        send("GET /api/posts", get("/api/posts?page=" + page));
+    }
+
+    private void getPost(long id) throws IOException, InterruptedException {
+        send("GET /api/posts/{id}", get("/api/posts/" + id));
+    }
+
+    private void createPost(ThreadLocalRandom random) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = send("POST /api/posts",
+                json("/api/posts", "POST", PostText.post(random)));
+        if (isOk(response)) {
+            ownPosts.addLast(data(response).path("id").asLong());
+        }
+    }
+
+    private void updatePost(ThreadLocalRandom random) throws IOException, InterruptedException {
+        Long id = ownPosts.peekLast();
+        if (id == null) {
+            createPost(random);
+            return;
+        }
+        send("PUT /api/posts/{id}", json("/api/posts/" + id, "PUT", PostText.post(random)));
+    }
+
+    private void deletePost(ThreadLocalRandom random) throws IOException, InterruptedException {
+        Long id = ownPosts.pollFirst();
+        if (id == null) {
+            createPost(random);
+            return;
+        }
+        send("DELETE /api/posts/{id}", authorized(HttpRequest.newBuilder(uri("/api/posts/" + id)).DELETE()));
+    }
+
+    private HttpResponse<byte[]> send(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            report.record(endpoint, start, System.nanoTime(), isOk(response));
+            return response;
+        } catch (IOException e) {
+            report.record(endpoint, start, System.nanoTime(), false);
+            throw e;
+        }
+    }
+
+    private HttpRequest get(String path) {
+        // Like a browser, lets the server answer from its gzipped bytes
+        return authorized(HttpRequest.newBuilder(uri(path)).GET().header("Accept-Encoding", "gzip"));
+    }
+
+    private HttpRequest json(String path, String method, Object body) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)));
+        return authorized(builder);
+    }
+
+    private HttpRequest authorized(HttpRequest.Builder builder) {
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private JsonNode data(HttpResponse<byte[]> response) throws IOException {
+        return mapper.readTree(response.body()).path("data");
+    }
+
+    private static boolean isOk(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2;
+    }
+}
@@ -0,0 +1,153 @@
+package vn.edu.iuh.fit.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import vn.edu.iuh.fit.backend.BackEndApplication;
+import vn.edu.iuh.fit.backend.dto.request.BulkPostRequest;
+import vn.edu.iuh.fit.backend.model.Role;
+import vn.edu.iuh.fit.backend.model.User;
+import vn.edu.iuh.fit.backend.repository.RoleRepository;
+import vn.edu.iuh.fit.backend.repository.UserRepository;
+import vn.edu.iuh.fit.backend.service.PostImportService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots the application on in-memory H2 with the loadtest profile, seeds users and posts,
+ * then drives it over HTTP from concurrent clients and reports per-endpoint latency.
+ * Run with mvn -Ploadtest -DskipTests verify, settings come from loadtest.* system properties.
+ */
+public final class LoadTest {
+
+    private static final String PASSWORD = "loadtest-password";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("loadtest.clients", 64);
+        Duration duration = DurationStyle.detectAndParse(System.getProperty("loadtest.duration", "30s"));
+        Duration warmup = DurationStyle.detectAndParse(System.getProperty("loadtest.warmup", "10s"));
+        int users = Integer.getInteger("loadtest.users", 100);
+        int posts = Integer.getInteger("loadtest.posts", 10_000);
+        Path reportFile = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.json"));
+
+        // Devtools would restart the context in its own class loader and skew the numbers
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Connection percentiles then decay before seeding and warmup can reach the report
+        System.setProperty("management.metrics.distribution.expiry[hikaricp.connections]", duration.toString());
+        SpringApplication application = new SpringApplication(BackEndApplication.class);
+        application.setAdditionalProfiles("loadtest");
+        try (ConfigurableApplicationContext context = application.run(args)) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            seedUsers(context, users);
+            seedPosts(context, users, posts);
+            Map<String, Long> range = context.getBean(JdbcTemplate.class).queryForObject(
+                    "SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM posts",
+                    (rs, row) -> Map.of("min", rs.getLong("min_id"), "max", rs.getLong("max_id")));
+            System.out.printf("Seeded %d users and %d posts, %d clients for %s after %s warmup%n",
+                    users, posts, clients, duration, warmup);
+
+            ConnectionPoolReport pools = new ConnectionPoolReport(context.getBean(MeterRegistry.class));
+            LatencyReport report = run(port, clients, users, range.get("min"), range.get("max"), warmup, duration,
+                    pools);
+            report.print();
+            pools.print();
+
+            Map<String, Object> settings = new LinkedHashMap<>();
+            settings.put("clients", clients);
+            settings.put("duration", duration.toString());
+            settings.put("warmup", warmup.toString());
+            settings.put("users", users);
+            settings.put("posts", posts);
+            report.write(reportFile, settings, pools.rows());
+            System.out.println("Report written to " + reportFile.toAbsolutePath());
+        }
+    }
+
+    private static LatencyReport run(int port, int clients, int users, long minPostId, long maxPostId,
+                                     Duration warmup, Duration duration, ConnectionPoolReport pools)
+            throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ObjectMapper mapper = new ObjectMapper();
+        LatencyReport report = new LatencyReport();
+        long deadline = System.nanoTime() + warmup.toNanos() + duration.toNanos();
+
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        for (int i = 0; i < clients; i++) {
+            pool.execute(new LoadClient(http, mapper, report, "http://localhost:" + port,
+                    username(i % users), PASSWORD, minPostId, maxPostId, deadline));
+        }
+        Thread.sleep(warmup.toMillis());
+        report.startMeasuring();
+        pools.startMeasuring();
+        Thread.sleep(duration.toMillis());
+        report.stopMeasuring();
+        pools.stopMeasuring();
+        pool.shutdown();
+        if (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+            pool.shutdownNow();
+        }
+        return report;
+    }
+
+    private static void seedUsers(ConfigurableApplicationContext context, int users) {
+        // One hash for everyone, encoding a fresh one per user would dominate start up
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        Role role = context.getBean(RoleRepository.class).findByRoleName("ROLE_USER").orElseThrow();
+        List<User> batch = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            User user = new User();
+            user.setUsername(username(i));
+            user.setPassword(hash);
+            user.setEmail(username(i) + "@loadtest.local");
+            user.setFirstName("Load");
+            user.setLastName("Test " + i);
+            user.setGender('M');
+            user.setRoles(Set.of(role));
+            batch.add(user);
+        }
+        context.getBean(UserRepository.class).saveAll(batch);
+    }
+
+    // Goes through the bulk import so counters, caches and the search index see the posts
+    private static void seedPosts(ConfigurableApplicationContext context, int users, int posts) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        Random random = new Random(42);
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        for (int i = 0; i < posts; i++) {
+            BulkPostRequest post = new BulkPostRequest(PostText.title(random), PostText.content(random),
+                    username(i % users), null);
+            ndjson.write(mapper.writeValueAsBytes(post));
+            ndjson.write('\n');
+        }
+        context.getBean(PostImportService.class)
+                .importPosts(new ByteArrayInputStream(ndjson.toByteArray()), OutputStream.nullOutputStream());
+    }
+
+    private static String username(int index) {
+        return "loadtest-user-" + index;
+    }
+}
@@ -0,0 +1,44 @@
+package vn.edu.iuh.fit.backend.loadtest;
+
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Filler titles and bodies from a small vocabulary, long enough that the feed excerpts,
+ * search index and response compression see realistic text.
+ */
+final class PostText {
+
+    private static final String[] WORDS = {
+            "spring", "boot", "java", "cache", "query", "index", "latency", "thread", "pool",
+            "request", "response", "database", "server", "client", "token", "security", "post",
+            "feed", "page", "cursor", "batch", "stream", "memory", "heap", "garbage", "collector",
+            "profile", "benchmark", "metric", "histogram", "throughput", "connection", "network"
+    };
+
+    private PostText() {
+    }
+
+    static String title(Random random) {
+        return words(random, 3 + random.nextInt(6));
+    }
+
+    static String content(Random random) {
+        return words(random, 50 + random.nextInt(250));
+    }
+
+    static Map<String, String> post(Random random) {
+        return Map.of("title", title(random), "content", content(random));
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,19 @@
+/*
+ * @ (#) MonitoredCache.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.cache;
+/*
+ * @description: In-process cache whose statistics are reported on /api/admin/caches
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import vn.edu.iuh.fit.backend.dto.response.CacheStatsResponse;
+
+public interface MonitoredCache {
+    CacheStatsResponse stats();
+}
@@ -0,0 +1,104 @@
+/*
+ * @ (#) PostCache.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.cache;
+/*
+ * @description: Bounded, TTL-based cache of assembled PostResponse objects in front of getPostById
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import vn.edu.iuh.fit.backend.datasource.ReadYourWritesTracker;
+import vn.edu.iuh.fit.backend.dto.response.CacheStatsResponse;
+import vn.edu.iuh.fit.backend.dto.response.PostResponse;
+import vn.edu.iuh.fit.backend.event.PostChangedEvent;
+import vn.edu.iuh.fit.backend.event.PostsPurgedEvent;
+import vn.edu.iuh.fit.backend.event.UserChangedEvent;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+@Component
+public class PostCache implements MonitoredCache {
+    // Object headers, the author and dates, on top of the two strings
+    private static final int ENTRY_OVERHEAD = 256;
+
+    // Cached responses are shared between requests and must be treated as read-only
+    private final Cache<Long, PostResponse> cache;
+    private final ReadYourWritesTracker readYourWrites;
+
+    public PostCache(@Value("${post.cache.max-weight}") DataSize maxWeight,
+                     @Value("${post.cache.ttl}") Duration ttl,
+                     ReadYourWritesTracker readYourWrites) {
+        this.readYourWrites = readYourWrites;
+        // Bounded by approximate heap bytes rather than entry count, post bodies vary too much in size
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight.toBytes())
+                .weigher((Long id, PostResponse post) -> ENTRY_OVERHEAD
+                        + 2 * (length(post.getTitle()) + length(post.getContent())))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    // A loader that throws caches nothing, missing posts are looked up again every time
+    public PostResponse get(Long postId, Function<Long, PostResponse> loader) {
+        return cache.get(postId, id -> readYourWrites.read(() -> loader.apply(id),
+                ReadYourWritesTracker.postKey(id), ReadYourWritesTracker.ALL_POSTS));
+    }
+
+    public PostResponse getIfPresent(Long postId) {
+        return cache.getIfPresent(postId);
+    }
+
+    public void evict(Long postId) {
+        cache.invalidate(postId);
+    }
+
+    // Evict only after the change is committed so a concurrent request cannot re-cache the old row.
+    // Ordered first: ResponseBytesCache reloads through this cache.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        readYourWrites.markWritten(ReadYourWritesTracker.postKey(event.postId()));
+        evict(event.postId());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsPurged(PostsPurgedEvent event) {
+        event.postIds().forEach(id -> {
+            readYourWrites.markWritten(ReadYourWritesTracker.postKey(id));
+            evict(id);
+        });
+    }
+
+    // Cached posts carry the author's name, scanning is fine for an event this rare
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        readYourWrites.markWritten(ReadYourWritesTracker.ALL_POSTS);
+        cache.asMap().values().removeIf(post -> event.userId().equals(post.getAuthor().getId()));
+    }
+
+    @Override
+    public CacheStatsResponse stats() {
+        return CacheStatsResponse.of("posts", cache.estimatedSize(), cache.stats());
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
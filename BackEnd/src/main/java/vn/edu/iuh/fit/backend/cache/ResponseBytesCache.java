@@ -0,0 +1,147 @@
+/*
+ * @ (#) ResponseBytesCache.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.cache;
+/*
+ * @description: Serialized and precompressed responses of hot posts and the first feed pages
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import vn.edu.iuh.fit.backend.datasource.ReadYourWritesTracker;
+import vn.edu.iuh.fit.backend.dto.response.CacheStatsResponse;
+import vn.edu.iuh.fit.backend.event.PostChangedEvent;
+import vn.edu.iuh.fit.backend.event.PostsPurgedEvent;
+import vn.edu.iuh.fit.backend.event.UserChangedEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+public class ResponseBytesCache implements MonitoredCache {
+    // Below this the gzip framing eats most of the saving
+    private static final int MIN_GZIP_LENGTH = 256;
+    private static final String POST_PREFIX = "post:";
+    private static final String FEED_PREFIX = "feed:";
+
+    private final ObjectMapper objectMapper;
+    private final int feedPages;
+    private final Cache<String, SerializedResponse> cache;
+    private final ReadYourWritesTracker readYourWrites;
+
+    public ResponseBytesCache(ObjectMapper objectMapper, ReadYourWritesTracker readYourWrites,
+                              @Value("${post.response-cache.max-weight}") DataSize maxWeight,
+                              @Value("${post.response-cache.ttl}") Duration ttl,
+                              @Value("${post.response-cache.feed-pages}") int feedPages) {
+        this.objectMapper = objectMapper;
+        this.feedPages = feedPages;
+        this.readYourWrites = readYourWrites;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight.toBytes())
+                .weigher((String key, SerializedResponse response) -> response.weight())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public static String postKey(Long postId) {
+        return POST_PREFIX + postId;
+    }
+
+    public static String feedKey(String... parameters) {
+        return FEED_PREFIX + String.join(":", parameters);
+    }
+
+    // Only the head of the public feed is hot enough to be worth the memory
+    public boolean cachesFeedPage(int page) {
+        return page >= 0 && page < feedPages;
+    }
+
+    public SerializedResponse getIfPresent(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    // A loader that throws caches nothing. Single posts reload through PostCache, which guards its own fills.
+    public SerializedResponse get(String key, Supplier<SerializedResponse> loader) {
+        if (key.startsWith(FEED_PREFIX)) {
+            return cache.get(key, ignored -> readYourWrites.read(loader, ReadYourWritesTracker.FEED));
+        }
+        return cache.get(key, ignored -> loader.get());
+    }
+
+    // Same ObjectMapper as MVC, so cached bytes equal what the message converter would write.
+    // Compressed once at the highest level, every hit reuses it.
+    public SerializedResponse serialize(Object body, String etag, Long lastModified) {
+        try {
+            byte[] identity = objectMapper.writeValueAsBytes(body);
+            byte[] gzip = null;
+            if (identity.length >= MIN_GZIP_LENGTH) {
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream(identity.length / 2);
+                try (GZIPOutputStream out = new GZIPOutputStream(compressed) {
+                    {
+                        def.setLevel(Deflater.BEST_COMPRESSION);
+                    }
+                }) {
+                    out.write(identity);
+                }
+                if (compressed.size() < identity.length) {
+                    gzip = compressed.toByteArray();
+                }
+            }
+            return new SerializedResponse(identity, gzip, etag, lastModified);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Runs after PostCache so a reload triggered in between cannot pick up the old PostResponse
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        readYourWrites.markWritten(ReadYourWritesTracker.FEED);
+        cache.invalidate(postKey(event.postId()));
+        // Any write can shift every feed page, and there are only a few of them
+        cache.asMap().keySet().removeIf(key -> key.startsWith(FEED_PREFIX));
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsPurged(PostsPurgedEvent event) {
+        readYourWrites.markWritten(ReadYourWritesTracker.FEED);
+        event.postIds().forEach(id -> cache.invalidate(postKey(id)));
+        cache.asMap().keySet().removeIf(key -> key.startsWith(FEED_PREFIX));
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        readYourWrites.markWritten(ReadYourWritesTracker.FEED);
+        cache.invalidateAll();
+    }
+
+    @Override
+    public CacheStatsResponse stats() {
+        return CacheStatsResponse.of("responses", cache.estimatedSize(), cache.stats());
+    }
+}
@@ -0,0 +1,21 @@
+/*
+ * @ (#) SerializedResponse.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.cache;
+/*
+ * @description: Final JSON bytes of a response with its gzip variant and validators
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+// gzip is null when compressing would not pay off
+public record SerializedResponse(byte[] identity, byte[] gzip, String etag, Long lastModified) {
+
+    int weight() {
+        return identity.length + (gzip != null ? gzip.length : 0);
+    }
+}
@@ -15,8 +15,14 @@ package vn.edu.iuh.fit.backend.config;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import vn.edu.iuh.fit.backend.model.PostCounter;
 import vn.edu.iuh.fit.backend.model.Role;
+import vn.edu.iuh.fit.backend.repository.PostCounterRepository;
+import vn.edu.iuh.fit.backend.repository.PostRepository;
 import vn.edu.iuh.fit.backend.repository.RoleRepository;
+import vn.edu.iuh.fit.backend.repository.UserRepository;
+import vn.edu.iuh.fit.backend.security.RoleRegistry;
 
 import java.util.List;
 
@@ -26,6 +32,21 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private PostCounterRepository postCounterRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @Override
     public void run(String... args) {
         List<String> roles = List.of("ROLE_USER", "ROLE_ADMIN");
@@ -33,5 +54,15 @@ public class DataInitializer implements CommandLineRunner {
             roleRepository.findByRoleName(roleName)
                     .orElseGet(() -> roleRepository.save(new Role(roleName)));
         }
+        roleRegistry.load(roleRepository.findAll());
+
+        // Seed the counters once, afterwards they are maintained incrementally
+        if (!postCounterRepository.existsById(PostCounter.TOTAL_POSTS)) {
+            transactionTemplate.executeWithoutResult(status -> {
+                postCounterRepository.save(new PostCounter(PostCounter.TOTAL_POSTS, postRepository.count()));
+                // post_count of existing authors starts at 0 when the column is added
+                userRepository.reconcilePostCounts();
+            });
+        }
     }
 }
@@ -0,0 +1,71 @@
+/*
+ * @ (#) DataSourceConfig.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.config;
+/*
+ * @description: Primary and read replica pools behind a read/write routing DataSource
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import vn.edu.iuh.fit.backend.datasource.ReadWriteRoutingDataSource;
+import vn.edu.iuh.fit.backend.datasource.ReadYourWritesTracker;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "datasource.replica", name = "enabled", havingValue = "true")
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${datasource.replica.url}") String url,
+                                              @Value("${datasource.replica.username}") String username,
+                                              @Value("${datasource.replica.password}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setPoolName("replica");
+        // Guards against a write slipping through the routing
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    // JPA, JdbcTemplate and the health check all use this one. Lazy either way: a transaction
+    // answered from a cache never checks out a connection.
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") ObjectProvider<DataSource> replica,
+                                 ReadYourWritesTracker readYourWrites) {
+        DataSource replicaDataSource = replica.getIfAvailable();
+        DataSource target = replicaDataSource == null
+                ? primary
+                : new ReadWriteRoutingDataSource(primary, replicaDataSource, readYourWrites);
+        return new LazyConnectionDataSourceProxy(target);
+    }
+}
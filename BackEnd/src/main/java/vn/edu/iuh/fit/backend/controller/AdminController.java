@@ -0,0 +1,69 @@
+/*
+ * @ (#) AdminController.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.controller;
+/*
+ * @description:
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import vn.edu.iuh.fit.backend.cache.MonitoredCache;
+import vn.edu.iuh.fit.backend.dto.response.BaseResponse;
+import vn.edu.iuh.fit.backend.dto.response.CacheStatsResponse;
+import vn.edu.iuh.fit.backend.dto.response.ExecutorStatsResponse;
+import vn.edu.iuh.fit.backend.dto.response.PinnedSiteResponse;
+import vn.edu.iuh.fit.backend.executor.MonitoredExecutor;
+import vn.edu.iuh.fit.backend.executor.PinnedThreadMonitor;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final List<MonitoredCache> caches;
+    private final List<MonitoredExecutor> executors;
+    // Only present when requests run on virtual threads
+    private final ObjectProvider<PinnedThreadMonitor> pinnedThreadMonitor;
+
+    @GetMapping("/caches")
+    public ResponseEntity<?> getCacheStats() {
+        List<CacheStatsResponse> stats = caches.stream()
+                .map(MonitoredCache::stats)
+                .toList();
+        return ResponseEntity.ok(
+                new BaseResponse<>(true, "Lấy thống kê cache thành công!", stats)
+        );
+    }
+
+    @GetMapping("/executors")
+    public ResponseEntity<?> getExecutorStats() {
+        List<ExecutorStatsResponse> stats = executors.stream()
+                .map(MonitoredExecutor::stats)
+                .toList();
+        return ResponseEntity.ok(
+                new BaseResponse<>(true, "Lấy thống kê executor thành công!", stats)
+        );
+    }
+
+    @GetMapping("/pinned-threads")
+    public ResponseEntity<?> getPinnedThreadStats() {
+        PinnedThreadMonitor monitor = pinnedThreadMonitor.getIfAvailable();
+        List<PinnedSiteResponse> stats = monitor != null ? monitor.stats() : List.of();
+        return ResponseEntity.ok(
+                new BaseResponse<>(true, "Lấy thống kê luồng ảo bị ghim thành công!", stats)
+        );
+    }
+}
@@ -12,6 +12,7 @@ package vn.edu.iuh.fit.backend.controller;
  * @version:    1.0
  */
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -42,8 +43,8 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@RequestBody LoginRequest request) {
-        JwtResponse response = authService.login(request);
+    public ResponseEntity<?> authenticateUser(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        JwtResponse response = authService.login(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(
                 new BaseResponse<>(true, "Đăng nhập thành công!", response)
         );
@@ -12,15 +12,37 @@ package vn.edu.iuh.fit.backend.controller;
  * @version:    1.0
  */
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import vn.edu.iuh.fit.backend.cache.ResponseBytesCache;
+import vn.edu.iuh.fit.backend.cache.SerializedResponse;
 import vn.edu.iuh.fit.backend.dto.request.CreatePostRequest;
 import vn.edu.iuh.fit.backend.dto.request.UpdatePostRequest;
 import vn.edu.iuh.fit.backend.dto.response.BaseResponse;
 import vn.edu.iuh.fit.backend.dto.response.PaginatedPostsResponse;
+import vn.edu.iuh.fit.backend.dto.response.PostListItem;
 import vn.edu.iuh.fit.backend.dto.response.PostResponse;
+import vn.edu.iuh.fit.backend.dto.response.PostSummaryResponse;
+import vn.edu.iuh.fit.backend.dto.response.PostVersion;
+import vn.edu.iuh.fit.backend.dto.response.TitleSuggestionResponse;
+import vn.edu.iuh.fit.backend.exception.BadRequestException;
+import vn.edu.iuh.fit.backend.service.PostExportService;
+import vn.edu.iuh.fit.backend.service.PostImportService;
 import vn.edu.iuh.fit.backend.service.PostService;
+import vn.edu.iuh.fit.backend.util.PostEtags;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -28,6 +50,12 @@ import vn.edu.iuh.fit.backend.service.PostService;
 public class PostController {
 
     private final PostService postService;
+    private final PostImportService postImportService;
+    private final PostExportService postExportService;
+    private final ResponseBytesCache responseCache;
+
+    // Browsers may keep a private copy but must revalidate it with the ETag before every use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
 
     @PostMapping
     public ResponseEntity<?> createPost(@RequestBody CreatePostRequest request) {
@@ -37,27 +65,207 @@ public class PostController {
         );
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<?> getPostById(@PathVariable Long id) {
-        PostResponse post = postService.getPostById(id);
+    // Admin only, NDJSON in and NDJSON out so neither side is buffered in memory
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importPosts(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        postImportService.importPosts(request.getInputStream(), response.getOutputStream());
+    }
+
+    // Admin only, rows are written while the database cursor advances so memory use stays flat
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPosts(@RequestParam(defaultValue = "ndjson") String format) {
+        PostExportService.Format exportFormat = switch (format) {
+            case "ndjson" -> PostExportService.Format.NDJSON;
+            case "csv" -> PostExportService.Format.CSV;
+            default -> throw new BadRequestException("Tham số format chỉ nhận ndjson hoặc csv.");
+        };
+        MediaType contentType = exportFormat == PostExportService.Format.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_NDJSON;
+
+        StreamingResponseBody body = output -> postExportService.exportPosts(exportFormat, output);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"posts." + format + "\"")
+                .body(body);
+    }
+
+    // Ranked by BM25 over title and content, accents are optional in the query
+    @GetMapping("/search")
+    public ResponseEntity<?> searchPosts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        PaginatedPostsResponse<PostSummaryResponse> response = postService.searchPosts(q, page, size);
         return ResponseEntity.ok(
-                new BaseResponse<>(true, "Lấy bài viết thành công!", post)
+                new BaseResponse<>(true, "Tìm kiếm bài viết thành công!", response)
         );
     }
 
+    // Type-ahead over post titles, newest matching posts first
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggestTitles(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<TitleSuggestionResponse> suggestions = postService.suggestTitles(prefix, limit);
+        return ResponseEntity.ok(
+                new BaseResponse<>(true, "Lấy gợi ý tiêu đề thành công!", suggestions)
+        );
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getPostById(@PathVariable Long id, WebRequest webRequest) {
+        String key = ResponseBytesCache.postKey(id);
+        SerializedResponse cached = responseCache.getIfPresent(key);
+        if (cached != null) {
+            return respond(cached, webRequest);
+        }
+
+        // Revalidation is answered from updatedAt alone, the body is neither loaded nor serialized
+        if (isConditional(webRequest)) {
+            Date version = postService.getPostVersion(id);
+            if (webRequest.checkNotModified(PostEtags.of(id, version), version.getTime())) {
+                return null;
+            }
+        }
+
+        return serve(responseCache.get(key, () -> {
+            PostResponse post = postService.getPostById(id);
+            return responseCache.serialize(new BaseResponse<>(true, "Lấy bài viết thành công!", post),
+                    PostEtags.of(post.getId(), post.getUpdatedAt()), post.getUpdatedAt().getTime());
+        }), webRequest);
+    }
+
     @GetMapping
     public ResponseEntity<?> getAllPosts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "desc") String direction,
-            @RequestParam(defaultValue = "false", name = "my-posts") boolean myPosts) {
+            @RequestParam(defaultValue = "false", name = "my-posts") boolean myPosts,
+            @RequestParam(defaultValue = "true", name = "include-total") boolean includeTotal,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest webRequest) {
 
-        PaginatedPostsResponse response = postService.getAllPosts(page, size, sortBy, direction, myPosts);
+        // summary returns the stored excerpt instead of the full body
+        boolean summary = switch (view) {
+            case "full" -> false;
+            case "summary" -> true;
+            default -> throw new BadRequestException("Tham số view chỉ nhận full hoặc summary.");
+        };
 
-        return ResponseEntity.ok(
-                new BaseResponse<>(true, "Lấy danh sách bài viết thành công!", response)
-        );
+        boolean cursorMode = after != null || before != null;
+        // Cursor mode only supports the (createdAt, id) keyset order
+        if (cursorMode && !"createdAt".equals(sortBy)) {
+            throw new BadRequestException("Phân trang theo cursor chỉ hỗ trợ sắp xếp theo createdAt.");
+        }
+
+        // First pages of the public feed are served from their serialized bytes
+        String key = !cursorMode && !myPosts && responseCache.cachesFeedPage(page)
+                ? ResponseBytesCache.feedKey(view, String.valueOf(page), String.valueOf(size), sortBy, direction,
+                        String.valueOf(includeTotal))
+                : null;
+        if (key != null) {
+            SerializedResponse cached = responseCache.getIfPresent(key);
+            if (cached != null) {
+                return respond(cached, webRequest);
+            }
+        }
+
+        // Revalidation runs the same page query over the version columns only.
+        // No Last-Modified here: a post leaving the page does not move any timestamp.
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            PaginatedPostsResponse<PostVersion> versions = cursorMode
+                    ? postService.getPostVersionsByCursor(after, before, size, direction, myPosts)
+                    : postService.getPostVersions(page, size, sortBy, direction, myPosts, includeTotal);
+            if (webRequest.checkNotModified(PostEtags.of(versions, view))) {
+                return null;
+            }
+        }
+
+        if (key != null) {
+            return serve(responseCache.get(key, () -> {
+                PaginatedPostsResponse<? extends PostListItem> response = summary
+                        ? postService.getPostSummaries(page, size, sortBy, direction, false, includeTotal)
+                        : postService.getAllPosts(page, size, sortBy, direction, false, includeTotal);
+                return responseCache.serialize(new BaseResponse<>(true, "Lấy danh sách bài viết thành công!", response),
+                        PostEtags.of(response, view), null);
+            }), webRequest);
+        }
+
+        PaginatedPostsResponse<? extends PostListItem> response;
+        if (cursorMode) {
+            response = summary
+                    ? postService.getPostSummariesByCursor(after, before, size, direction, myPosts)
+                    : postService.getPostsByCursor(after, before, size, direction, myPosts);
+        } else {
+            response = summary
+                    ? postService.getPostSummaries(page, size, sortBy, direction, myPosts, includeTotal)
+                    : postService.getAllPosts(page, size, sortBy, direction, myPosts, includeTotal);
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .eTag(PostEtags.of(response, view))
+                .body(new BaseResponse<>(true, "Lấy danh sách bài viết thành công!", response));
+    }
+
+    private static boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    private static ResponseEntity<?> respond(SerializedResponse response, WebRequest webRequest) {
+        boolean notModified = response.lastModified() != null
+                ? webRequest.checkNotModified(response.etag(), response.lastModified())
+                : webRequest.checkNotModified(response.etag());
+        return notModified ? null : serve(response, webRequest);
+    }
+
+    // Writes the cached bytes as they are, the gzip variant when the client takes it
+    private static ResponseEntity<byte[]> serve(SerializedResponse response, WebRequest webRequest) {
+        boolean gzip = response.gzip() != null && acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        byte[] body = gzip ? response.gzip() : response.identity();
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length)
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                // Different bytes, so the gzip variant only gets a weak validator
+                .eTag(gzip ? "W/" + response.etag() : response.etag());
+        if (response.lastModified() != null) {
+            builder.lastModified(response.lastModified());
+        }
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(body);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            // gzip;q=0 means the client refuses it
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=") && parameter.substring(2).matches("0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
     }
 
     @PutMapping("/{id}")
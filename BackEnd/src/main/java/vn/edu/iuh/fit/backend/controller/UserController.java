@@ -17,11 +17,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import vn.edu.iuh.fit.backend.dto.request.UpdateUserRequest;
 import vn.edu.iuh.fit.backend.dto.response.BaseResponse;
+import vn.edu.iuh.fit.backend.dto.response.PaginatedUsersResponse;
+import vn.edu.iuh.fit.backend.dto.response.UserPurgeResponse;
 import vn.edu.iuh.fit.backend.dto.response.UserResponse;
 import vn.edu.iuh.fit.backend.service.UserService;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -30,8 +30,13 @@ public class UserController {
     private final UserService userService;
 
     @GetMapping
-    public ResponseEntity<?> getAllUsers() {
-        List<UserResponse> users = userService.getAllUsers();
+    public ResponseEntity<?> getAllUsers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false, name = "q") String query,
+            @RequestParam(required = false) String role) {
+        PaginatedUsersResponse users = userService.getUsers(page, size, after, query, role);
         return ResponseEntity.ok(
                 new BaseResponse<>(true, "Lấy danh sách người dùng thành công!", users)
         );
@@ -58,8 +63,24 @@ public class UserController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteUser(@PathVariable Long id) {
         userService.deleteUser(id);
+        return ResponseEntity.accepted().body(
+                new BaseResponse<>(true, "Đã xóa người dùng, dữ liệu liên quan sẽ được dọn dẹp ở nền.", null)
+        );
+    }
+
+    @GetMapping("/{id}/purge")
+    public ResponseEntity<?> getPurgeStatus(@PathVariable Long id) {
+        UserPurgeResponse response = userService.getPurgeStatus(id);
+        return ResponseEntity.ok(
+                new BaseResponse<>(true, "Lấy trạng thái dọn dẹp người dùng thành công!", response)
+        );
+    }
+
+    @PostMapping("/{id}/revoke-tokens")
+    public ResponseEntity<?> revokeTokens(@PathVariable Long id) {
+        userService.revokeTokens(id);
         return ResponseEntity.ok(
-                new BaseResponse<>(true, "Xóa người dùng thành công!", null)
+                new BaseResponse<>(true, "Thu hồi token của người dùng thành công!", null)
         );
     }
 
@@ -0,0 +1,86 @@
+/*
+ * @ (#) ReadWriteRoutingDataSource.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.datasource;
+/*
+ * @description: Sends read-only service transactions to the replica and everything else to the primary
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import vn.edu.iuh.fit.backend.service.PostService;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// Decides when a connection is first used, so it must sit behind a LazyConnectionDataSourceProxy:
+// the transaction manager asks for the connection before the read-only flag is bound to the thread.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+    // Transactions are named after the method that opened them. Spring Data runs plain repository
+    // reads in read-only transactions too, those stay on the primary.
+    private static final String SERVICE_PACKAGE = PostService.class.getPackageName() + ".";
+
+    private final ReadYourWritesTracker readYourWrites;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesTracker readYourWrites) {
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String username = currentUsername();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            markAfterCommit(username);
+            return PRIMARY;
+        }
+        if (!isServiceTransaction() || readYourWrites.primaryRequired()) {
+            return PRIMARY;
+        }
+        // The user's own writes may not have reached the replica yet
+        if (username != null && readYourWrites.recentlyWritten(ReadYourWritesTracker.userKey(username))) {
+            return PRIMARY;
+        }
+        return REPLICA;
+    }
+
+    private void markAfterCommit(String username) {
+        if (username == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWrites.markWritten(ReadYourWritesTracker.userKey(username));
+            }
+        });
+    }
+
+    private static boolean isServiceTransaction() {
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        return name != null && name.startsWith(SERVICE_PACKAGE);
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() ||
+                authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * @ (#) ReadYourWritesTracker.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.datasource;
+/*
+ * @description: Short-lived record of recent writes that keeps the affected reads on the primary
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+@Component
+public class ReadYourWritesTracker {
+    // Invalidates every cached post, for changes that cannot name the posts they touch
+    public static final String ALL_POSTS = "post:*";
+    public static final String FEED = "feed";
+    // Beyond this the oldest marks are dropped early, a read may then see replica lag
+    private static final int MAX_KEYS = 100_000;
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private final Cache<String, Boolean> recentWrites;
+
+    public ReadYourWritesTracker(@Value("${datasource.replica.sticky-window}") Duration window) {
+        this.recentWrites = Caffeine.newBuilder()
+                .maximumSize(MAX_KEYS)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public static String userKey(String username) {
+        return "user:" + username;
+    }
+
+    public static String postKey(Long postId) {
+        return "post:" + postId;
+    }
+
+    public void markWritten(String key) {
+        recentWrites.put(key, Boolean.TRUE);
+    }
+
+    public boolean recentlyWritten(String key) {
+        return recentWrites.getIfPresent(key) != null;
+    }
+
+    // Runs the reader on the primary when any key was written within the window.
+    // Caches fill through this, a copy read from a lagging replica would outlive the lag by its TTL.
+    // Routing happens on the first statement of a transaction, so the reader must issue it.
+    public <T> T read(Supplier<T> reader, String... keys) {
+        if (primaryRequired() || !anyRecentlyWritten(keys)) {
+            return reader.get();
+        }
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return reader.get();
+        } finally {
+            PRIMARY_REQUIRED.remove();
+        }
+    }
+
+    public boolean primaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    private boolean anyRecentlyWritten(String... keys) {
+        for (String key : keys) {
+            if (recentlyWritten(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
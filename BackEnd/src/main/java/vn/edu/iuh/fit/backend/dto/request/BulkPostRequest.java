@@ -0,0 +1,32 @@
+/*
+ * @ (#) BulkPostRequest.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.dto.request;
+/*
+ * @description: 
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+// One NDJSON line of POST /api/posts/bulk
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkPostRequest {
+    private String title;
+    private String content;
+    // Username of an existing author
+    private String author;
+    // Optional, keeps the original date of migrated content
+    private Date createdAt;
+}
@@ -0,0 +1,26 @@
+/*
+ * @ (#) BulkImportSummary.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.dto.response;
+/*
+ * @description: 
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Last NDJSON line of a bulk import response
+@Data
+@AllArgsConstructor
+public class BulkImportSummary {
+    private long created;
+    private long failed;
+    private long elapsedMs;
+    private long postsPerSecond;
+}
@@ -0,0 +1,37 @@
+/*
+ * @ (#) BulkPostResult.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.dto.response;
+/*
+ * @description: 
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkPostResult {
+    public enum Status { CREATED, FAILED }
+
+    private int line;
+    private Status status;
+    private Long id;
+    private String error;
+
+    public static BulkPostResult created(int line, Long id) {
+        return new BulkPostResult(line, Status.CREATED, id, null);
+    }
+
+    public static BulkPostResult failed(int line, String error) {
+        return new BulkPostResult(line, Status.FAILED, null, error);
+    }
+}
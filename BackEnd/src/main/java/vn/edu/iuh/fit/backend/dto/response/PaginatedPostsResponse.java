@@ -17,11 +17,13 @@ import lombok.Data;
 import java.util.List;
 
 @Data
-public class PaginatedPostsResponse {
-    private List<PostResponse> posts;
+public class PaginatedPostsResponse<T> {
+    private List<T> posts;
     private int currentPage;
     private int totalPages;
     private long totalElements;
     private boolean hasNext;
     private boolean hasPrevious;
+    private String nextCursor;
+    private String prevCursor;
 }
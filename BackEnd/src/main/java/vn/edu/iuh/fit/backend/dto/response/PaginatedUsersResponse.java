@@ -0,0 +1,27 @@
+/*
+ * @ (#) PaginatedUsersResponse.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.dto.response;
+/*
+ * @description: 
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class PaginatedUsersResponse {
+    private List<UserResponse> users;
+    private int currentPage;
+    private boolean hasNext;
+    private boolean hasPrevious;
+    // Id of the last user on the page, passed back as after= to continue by keyset
+    private Long nextCursor;
+}
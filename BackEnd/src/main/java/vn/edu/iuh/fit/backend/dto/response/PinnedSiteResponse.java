@@ -0,0 +1,25 @@
+/*
+ * @ (#) PinnedSiteResponse.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.dto.response;
+/*
+ * @description:
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PinnedSiteResponse {
+    private String site;
+    private long count;
+    private long totalMillis;
+    private long maxMillis;
+}
@@ -0,0 +1,21 @@
+/*
+ * @ (#) PostListItem.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.dto.response;
+/*
+ * @description: Common view of list rows, enough to build a keyset cursor and an entity tag
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import java.util.Date;
+
+public interface PostListItem {
+    Long getId();
+    Date getCreatedAt();
+    Date getUpdatedAt();
+}
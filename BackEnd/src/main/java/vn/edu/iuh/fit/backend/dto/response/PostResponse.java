@@ -13,15 +13,32 @@ package vn.edu.iuh.fit.backend.dto.response;
  */
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.util.Date;
 
 @Data
-public class PostResponse {
+@NoArgsConstructor
+public class PostResponse implements PostListItem {
     private Long id;
     private String title;
     private String content;
     private UserResponse author;
     private Date createdAt;
     private Date updatedAt;
-}
\ No newline at end of file
+
+    // Used by PostRepository.findPostResponseById and PostProjection.FULL
+    public PostResponse(Long id, String title, String content, Date createdAt, Date updatedAt,
+                        Long authorId, String authorUsername, String authorFirstName, String authorLastName) {
+        this.id = id;
+        this.title = title;
+        this.content = content;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.author = new UserResponse();
+        this.author.setId(authorId);
+        this.author.setUsername(authorUsername);
+        this.author.setFirstName(authorFirstName);
+        this.author.setLastName(authorLastName);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * @ (#) PostSummaryResponse.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.dto.response;
+/*
+ * @description:
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+public class PostSummaryResponse implements PostListItem {
+    private Long id;
+    private String title;
+    private String excerpt;
+    private UserResponse author;
+    private Date createdAt;
+    private Date updatedAt;
+
+    // Used by PostProjection.SUMMARY, never reads the TEXT content column
+    public PostSummaryResponse(Long id, String title, String excerpt, Date createdAt, Date updatedAt,
+                               Long authorId, String authorUsername, String authorFirstName, String authorLastName) {
+        this.id = id;
+        this.title = title;
+        this.excerpt = excerpt;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.author = new UserResponse();
+        this.author.setId(authorId);
+        this.author.setUsername(authorUsername);
+        this.author.setFirstName(authorFirstName);
+        this.author.setLastName(authorLastName);
+    }
+}
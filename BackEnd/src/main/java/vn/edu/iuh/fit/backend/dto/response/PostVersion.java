@@ -0,0 +1,28 @@
+/*
+ * @ (#) PostVersion.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.dto.response;
+/*
+ * @description: Version columns of a post row, enough to answer a conditional request
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostVersion implements PostListItem {
+    private Long id;
+    private Date createdAt;
+    private Date updatedAt;
+}
@@ -0,0 +1,35 @@
+/*
+ * @ (#) UserPurgeResponse.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.dto.response;
+/*
+ * @description: 
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import vn.edu.iuh.fit.backend.model.UserPurge;
+
+import java.util.Date;
+
+@Data
+@AllArgsConstructor
+public class UserPurgeResponse {
+    private Long userId;
+    private String username;
+    private UserPurge.Status status;
+    private long postsDeleted;
+    private Date requestedAt;
+    private Date completedAt;
+
+    public static UserPurgeResponse of(UserPurge purge) {
+        return new UserPurgeResponse(purge.getUserId(), purge.getUsername(), purge.getStatus(),
+                purge.getPostsDeleted(), purge.getRequestedAt(), purge.getCompletedAt());
+    }
+}
@@ -13,10 +13,12 @@ package vn.edu.iuh.fit.backend.dto.response;
  */
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.util.Date;
 
 @Data
+@NoArgsConstructor
 public class UserResponse {
     private Long id;
     private String username;
@@ -25,4 +27,16 @@ public class UserResponse {
     private char gender;
     private String email;
     private String role;
+
+    // Used by UserRepositoryImpl.findRows, roles arrive already joined by the database
+    public UserResponse(Long id, String username, String firstName, String lastName, char gender,
+                        String email, String role) {
+        this.id = id;
+        this.username = username;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.gender = gender;
+        this.email = email;
+        this.role = role;
+    }
 }
\ No newline at end of file
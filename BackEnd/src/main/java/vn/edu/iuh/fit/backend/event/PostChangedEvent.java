@@ -0,0 +1,28 @@
+/*
+ * @ (#) PostChangedEvent.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.event;
+/*
+ * @description: Published whenever a post is created, edited or deleted
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+public record PostChangedEvent(Long postId, Type type, String title, String content) {
+
+    public enum Type {
+        SAVED, DELETED
+    }
+
+    public static PostChangedEvent saved(Long postId, String title, String content) {
+        return new PostChangedEvent(postId, Type.SAVED, title, content);
+    }
+
+    public static PostChangedEvent deleted(Long postId) {
+        return new PostChangedEvent(postId, Type.DELETED, null, null);
+    }
+}
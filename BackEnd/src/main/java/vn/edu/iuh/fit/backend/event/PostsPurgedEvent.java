@@ -0,0 +1,18 @@
+/*
+ * @ (#) PostsPurgedEvent.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.event;
+/*
+ * @description: Posts of a deleted user removed in one purge chunk, published after the chunk commits
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import java.util.List;
+
+public record PostsPurgedEvent(Long userId, List<Long> postIds) {
+}
@@ -0,0 +1,16 @@
+/*
+ * @ (#) UserChangedEvent.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.event;
+/*
+ * @description: Published whenever a user is deleted or their roles change
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+public record UserChangedEvent(Long userId, String username) {
+}
@@ -12,7 +12,10 @@ package vn.edu.iuh.fit.backend.exception;
  * @version:    1.0
  */
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -20,59 +23,73 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 @RestControllerAdvice
 @Hidden
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
     @ExceptionHandler(BadRequestException.class)
     public ResponseEntity<ErrorResponse> badRequestException(BadRequestException ex) {
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body(new ErrorResponse("BAD_REQUEST", ex.getMessage()));
+        return error(HttpStatus.BAD_REQUEST, "BAD_REQUEST", ex, ex.getMessage());
     }
 
     @ExceptionHandler(UnauthorizedException.class)
     public ResponseEntity<ErrorResponse> unauthorizedException(UnauthorizedException ex) {
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body(new ErrorResponse("UNAUTHORIZED", ex.getMessage()));
+        return error(HttpStatus.UNAUTHORIZED, "UNAUTHORIZED", ex, ex.getMessage());
     }
 
     @ExceptionHandler(InvalidCredentialException.class)
     public ResponseEntity<ErrorResponse> handleInvalidCredentials(InvalidCredentialException ex) {
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body(new ErrorResponse("INVALID_CREDENTIALS", ex.getMessage()));
+        return error(HttpStatus.BAD_REQUEST, "INVALID_CREDENTIALS", ex, ex.getMessage());
     }
 
     @ExceptionHandler(UserAlreadyExistException.class)
     public ResponseEntity<ErrorResponse> handleUserAlreadyExistsException(UserAlreadyExistException ex) {
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body(new ErrorResponse("USER_EXISTS", ex.getMessage()));
+        return error(HttpStatus.BAD_REQUEST, "USER_EXISTS", ex, ex.getMessage());
     }
 
     @ExceptionHandler(CredentialAlreadyExistException.class)
     public ResponseEntity<ErrorResponse> handleCredentialAlreadyExistsException(CredentialAlreadyExistException ex) {
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body(new ErrorResponse("CREDENTIAL_EXISTS", ex.getMessage()));
+        return error(HttpStatus.BAD_REQUEST, "CREDENTIAL_EXISTS", ex, ex.getMessage());
     }
 
     @ExceptionHandler(UserNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleUserNotFound(UserNotFoundException ex) {
-        return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                .body(new ErrorResponse("USER_NOT_FOUND", ex.getMessage()));
+        return error(HttpStatus.NOT_FOUND, "USER_NOT_FOUND", ex, ex.getMessage());
     }
 
     @ExceptionHandler(PostNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleUserNotFound(PostNotFoundException ex) {
-        return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                .body(new ErrorResponse("POST_NOT_FOUND", ex.getMessage()));
+        return error(HttpStatus.NOT_FOUND, "POST_NOT_FOUND", ex, ex.getMessage());
     }
 
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ErrorResponse> handleUserNotFound(AccessDeniedException ex) {
-        return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                .body(new ErrorResponse("ACCESS_DENIED", ex.getMessage()));
+        return error(HttpStatus.FORBIDDEN, "ACCESS_DENIED", ex, ex.getMessage());
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequests(TooManyRequestsException ex) {
+        return error(HttpStatus.TOO_MANY_REQUESTS, "TOO_MANY_REQUESTS", ex, ex.getMessage());
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailable(ServiceUnavailableException ex) {
+        return error(HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_UNAVAILABLE", ex, ex.getMessage());
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneralException(Exception ex) {
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(new ErrorResponse("INTERNAL_ERROR", "Lỗi hệ thống, vui lòng thử lại sau."));
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "INTERNAL_ERROR", ex, "Lỗi hệ thống, vui lòng thử lại sau.");
+    }
+
+    // Every branch is counted under its error code, so a spike shows which kind of failure it is
+    private ResponseEntity<ErrorResponse> error(HttpStatus status, String code, Exception ex, String message) {
+        Counter.builder("api.errors")
+                .tag("code", code)
+                .tag("exception", ex.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+        return ResponseEntity.status(status).body(new ErrorResponse(code, message));
     }
 }
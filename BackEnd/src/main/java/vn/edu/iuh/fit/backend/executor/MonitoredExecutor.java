@@ -0,0 +1,19 @@
+/*
+ * @ (#) MonitoredExecutor.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.executor;
+/*
+ * @description: Bounded executor whose load is reported on /api/admin/executors
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import vn.edu.iuh.fit.backend.dto.response.ExecutorStatsResponse;
+
+public interface MonitoredExecutor {
+    ExecutorStatsResponse stats();
+}
@@ -0,0 +1,134 @@
+/*
+ * @ (#) PinnedThreadMonitor.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.executor;
+/*
+ * @description: Records virtual threads pinned to their carrier through JFR
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import vn.edu.iuh.fit.backend.dto.response.PinnedSiteResponse;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class PinnedThreadMonitor implements DisposableBean {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "vn.edu.iuh.fit.backend.";
+    private static final int LOGGED_FRAMES = 20;
+
+    private final Duration threshold;
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public PinnedThreadMonitor(@Value("${virtual-threads.pinning.threshold}") Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+        log.info("Watching virtual threads pinned longer than {}", threshold);
+    }
+
+    private void record(RecordedEvent event) {
+        RecordedStackTrace trace = event.getStackTrace();
+        String site = siteOf(trace);
+        Site stats = sites.get(site);
+        if (stats == null) {
+            Site created = new Site();
+            stats = sites.putIfAbsent(site, created);
+            if (stats == null) {
+                stats = created;
+                // Full stack once per site, afterwards only the counters move
+                log.warn("Virtual thread pinned for {} ms at {}\n{}", event.getDuration().toMillis(), site, format(trace));
+            }
+        }
+        stats.add(event.getDuration());
+    }
+
+    // Blocking inside synchronized or a native frame is reported by the JDK frame,
+    // the first frame of our own code is what needs fixing
+    private static String siteOf(RecordedStackTrace trace) {
+        if (trace == null || trace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        return trace.getFrames().stream()
+                .filter(frame -> frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APP_PACKAGE))
+                .findFirst()
+                .map(PinnedThreadMonitor::frameName)
+                .orElseGet(() -> frameName(trace.getFrames().get(0)));
+    }
+
+    private static String frameName(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private static String format(RecordedStackTrace trace) {
+        if (trace == null) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder();
+        trace.getFrames().stream().limit(LOGGED_FRAMES)
+                .forEach(frame -> text.append("\tat ").append(frameName(frame)).append('\n'));
+        return text.toString();
+    }
+
+    public List<PinnedSiteResponse> stats() {
+        return sites.entrySet().stream()
+                .map(entry -> entry.getValue().toResponse(entry.getKey()))
+                .sorted(Comparator.comparingLong(PinnedSiteResponse::getCount).reversed())
+                .toList();
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private static final class Site {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void add(Duration duration) {
+            count.increment();
+            totalNanos.add(duration.toNanos());
+            maxNanos.accumulate(duration.toNanos());
+        }
+
+        PinnedSiteResponse toResponse(String site) {
+            return new PinnedSiteResponse(site, count.sum(), totalNanos.sum() / 1_000_000, maxNanos.get() / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * @ (#) ConcurrencyLimitFilter.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.filter;
+/*
+ * @description: Caps in-flight requests in virtual thread mode relative to the connection pool
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import vn.edu.iuh.fit.backend.dto.response.ExecutorStatsResponse;
+import vn.edu.iuh.fit.backend.exception.ErrorResponse;
+import vn.edu.iuh.fit.backend.executor.MonitoredExecutor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Tomcat's 200 platform threads used to be the cap. Virtual threads remove it, so without this
+// a burst would park thousands of requests on Hikari until its connection-timeout.
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter implements MonitoredExecutor {
+    private static final String OVERLOADED = "Hệ thống đang quá tải, vui lòng thử lại sau.";
+
+    private final ObjectMapper objectMapper;
+    private final int limit;
+    private final Duration queueTimeout;
+    private final Semaphore permits;
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public ConcurrencyLimitFilter(ObjectMapper objectMapper,
+                                  @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                  @Value("${virtual-threads.limiter.requests-per-connection}") int requestsPerConnection,
+                                  @Value("${virtual-threads.limiter.queue-timeout}") Duration queueTimeout) {
+        this.objectMapper = objectMapper;
+        this.limit = poolSize * requestsPerConnection;
+        this.queueTimeout = queueTimeout;
+        // Fair, so a burst is admitted in arrival order and the oldest waiters are not starved
+        this.permits = new Semaphore(limit, true);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            objectMapper.writeValue(response.getOutputStream(), new ErrorResponse("SERVICE_UNAVAILABLE", OVERLOADED));
+            return;
+        }
+
+        // Async dispatches (exports) release here and keep streaming outside the limit
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+            completed.increment();
+        }
+    }
+
+    // Waiters are bounded by queue-timeout rather than a capacity, so that is reported as 0
+    @Override
+    public ExecutorStatsResponse stats() {
+        return new ExecutorStatsResponse("request-limiter", limit, limit - permits.availablePermits(),
+                permits.getQueueLength(), 0, completed.sum(), rejected.sum());
+    }
+}
@@ -12,17 +12,25 @@ package vn.edu.iuh.fit.backend.filter;
  * @version:    1.0
  */
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import vn.edu.iuh.fit.backend.security.JwtPrincipal;
 import vn.edu.iuh.fit.backend.security.JwtUtil;
+import vn.edu.iuh.fit.backend.security.SecurityEpochRegistry;
 import vn.edu.iuh.fit.backend.service.UserService;
 
 import java.io.IOException;
@@ -31,10 +39,20 @@ import java.io.IOException;
 public class JwtFilter extends OncePerRequestFilter {
     private final JwtUtil jwtService;
     private final UserService userService;
+    private final SecurityEpochRegistry epochRegistry;
+    private final boolean stateless;
+    // Token verification and principal lookup only, the rest of the chain is in http.server.requests
+    private final Meter.MeterProvider<Timer> verificationTimer;
 
-    public JwtFilter(JwtUtil jwtService, UserService userService) {
+    public JwtFilter(JwtUtil jwtService, UserService userService, SecurityEpochRegistry epochRegistry,
+                     @Value("${jwt.stateless}") boolean stateless, MeterRegistry meterRegistry) {
         this.jwtService = jwtService;
         this.userService = userService;
+        this.epochRegistry = epochRegistry;
+        this.stateless = stateless;
+        this.verificationTimer = Timer.builder("security.jwt.verification")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
     }
 
     @Override
@@ -42,38 +60,64 @@ public class JwtFilter extends OncePerRequestFilter {
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
         String authorizationHeader = request.getHeader("Authorization");
-        String token = null;
+        Claims claims = null;
         String username = null;
+        Timer.Sample verification = Timer.start();
+        String outcome = "anonymous";
 
         try {
             if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-                token = authorizationHeader.substring(7);
-                username = jwtService.extractUsername(token); // có thể ném ExpiredJwtException
+                // Token được xác thực chữ ký đúng một lần cho mỗi request
+                claims = jwtService.parseClaims(authorizationHeader.substring(7)); // có thể ném ExpiredJwtException
+                username = claims.getSubject();
+                outcome = "verified";
             }
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userService.loadUserByUsername(username);
-                if (jwtService.validateToken(token, userDetails)) {
+                // Revocation applies in both modes, tokens issued before the claims existed only expire
+                JwtPrincipal principal = jwtService.principalOf(claims);
+                if (principal != null && !epochRegistry.isCurrent(principal.userId(), jwtService.epochOf(claims))) {
+                    throw new JwtException("JWT has been revoked");
+                }
+                // Stateless mode trusts the claims, otherwise the user is looked up
+                UserDetails userDetails = stateless ? principal : null;
+                if (userDetails == null) {
+                    userDetails = userService.loadUserByUsername(username);
+                }
+                if (jwtService.validateToken(claims, userDetails)) {
                     UsernamePasswordAuthenticationToken authenticationToken =
                             new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                     authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                } else {
+                    outcome = "rejected";
                 }
             }
 
+            verification = record(verification, outcome);
             filterChain.doFilter(request, response);
 
         } catch (io.jsonwebtoken.ExpiredJwtException ex) {
             // JWT hết hạn → trả về 401
+            record(verification, "expired");
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.setContentType("application/json");
             response.getWriter().write("{\"error\":\"JWT expired\", \"message\":\"" + ex.getMessage() + "\"}");
         } catch (io.jsonwebtoken.JwtException ex) {
             // JWT invalid → cũng trả về 401
+            record(verification, "invalid");
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.setContentType("application/json");
             response.getWriter().write("{\"error\":\"Invalid JWT\", \"message\":\"" + ex.getMessage() + "\"}");
         }
     }
 
+    // Returns null so a JWT exception thrown further down the chain is not recorded twice
+    private Timer.Sample record(Timer.Sample verification, String outcome) {
+        if (verification != null) {
+            verification.stop(verificationTimer.withTag("outcome", outcome));
+        }
+        return null;
+    }
+
 }
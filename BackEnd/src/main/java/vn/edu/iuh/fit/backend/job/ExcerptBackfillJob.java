@@ -0,0 +1,44 @@
+/*
+ * @ (#) ExcerptBackfillJob.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.job;
+/*
+ * @description: One-off fill of the stored excerpt for posts written before the column existed
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import vn.edu.iuh.fit.backend.service.ExcerptBackfillService;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "post.excerpt.backfill", name = "enabled", havingValue = "true")
+public class ExcerptBackfillJob {
+
+    private final ExcerptBackfillService excerptBackfillService;
+
+    @Value("${post.excerpt.backfill.chunk-size}")
+    private long chunkSize;
+
+    // Runs once after startup, walks the id space in bounded ranges instead of one unbounded UPDATE
+    @Scheduled(initialDelayString = "${post.excerpt.backfill.initial-delay}")
+    public void backfill() {
+        long maxId = excerptBackfillService.findMaxPostId().orElse(0L);
+        long written = 0;
+        for (long afterId = 0; afterId < maxId; afterId += chunkSize) {
+            written += excerptBackfillService.backfillRange(afterId, Math.min(afterId + chunkSize, maxId));
+        }
+        log.info("Backfilled excerpts of {} posts up to id {}", written, maxId);
+    }
+}
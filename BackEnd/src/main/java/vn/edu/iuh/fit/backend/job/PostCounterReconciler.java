@@ -0,0 +1,41 @@
+/*
+ * @ (#) PostCounterReconciler.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.job;
+/*
+ * @description: Periodically repairs drift between materialized post counters and the posts table
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import vn.edu.iuh.fit.backend.model.PostCounter;
+import vn.edu.iuh.fit.backend.repository.PostCounterRepository;
+import vn.edu.iuh.fit.backend.repository.UserRepository;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostCounterReconciler {
+
+    private final PostCounterRepository postCounterRepository;
+    private final UserRepository userRepository;
+
+    @Scheduled(cron = "${post.counters.reconcile-cron}")
+    @Transactional
+    public void reconcile() {
+        postCounterRepository.reconcile(PostCounter.TOTAL_POSTS);
+        int repairedAuthors = userRepository.reconcilePostCounts();
+        if (repairedAuthors > 0) {
+            log.warn("Repaired post counters for {} authors", repairedAuthors);
+        }
+    }
+}
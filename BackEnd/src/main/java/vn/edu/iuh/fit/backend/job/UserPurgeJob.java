@@ -0,0 +1,42 @@
+/*
+ * @ (#) UserPurgeJob.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.job;
+/*
+ * @description: Removes posts and rows of deleted users in the background
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import vn.edu.iuh.fit.backend.service.UserPurgeService;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserPurgeJob {
+
+    private final UserPurgeService userPurgeService;
+
+    @Scheduled(fixedDelayString = "${user.purge.interval}")
+    public void purge() {
+        for (Long userId : userPurgeService.findPendingUserIds()) {
+            try {
+                while (!userPurgeService.purgeNextChunk(userId)) {
+                    // one short transaction per chunk
+                }
+                log.info("Purged deleted user {}", userId);
+            } catch (RuntimeException e) {
+                // Left PENDING, the next run resumes from the remaining posts
+                log.warn("Purge of deleted user {} failed, will retry", userId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * @ (#) PostCounter.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.model;
+/*
+ * @description: Materialized counter maintained on post create/delete instead of COUNT(*)
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "post_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostCounter {
+    public static final String TOTAL_POSTS = "posts.total";
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "counter_value", nullable = false)
+    private long value;
+}
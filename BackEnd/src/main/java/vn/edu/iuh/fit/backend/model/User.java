@@ -15,22 +15,33 @@ package vn.edu.iuh.fit.backend.model;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.UK_USERNAME, columnNames = "username"),
+        @UniqueConstraint(name = User.UK_EMAIL, columnNames = "email")
+})
+@NamedEntityGraph(name = User.WITH_ROLES, attributeNodes = @NamedAttributeNode("roles"))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
+    // Named so registration can tell which unique key an insert violated
+    public static final String UK_USERNAME = "uk_users_username";
+    public static final String UK_EMAIL = "uk_users_email";
+    // Fetch plan of the lookups that build authorities or token claims
+    public static final String WITH_ROLES = "User.withRoles";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "user_id")
     private Long userId;
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String username;
 
     @Column(nullable = false)
@@ -41,9 +52,22 @@ public class User {
     private char gender;
     private String email;
 
-    @ManyToMany(fetch = FetchType.EAGER, cascade = {
-            CascadeType.PERSIST,
-            CascadeType.MERGE,
+    // Maintained by PostServiceImpl on create/delete, repaired by PostCounterReconciler
+    @Column(name = "post_count", nullable = false)
+    private long postCount;
+
+    // Bumped to revoke every token issued to this user, checked by SecurityEpochRegistry in stateless mode
+    @Column(name = "security_epoch", nullable = false)
+    private int securityEpoch;
+
+    // Set when an admin deletes the account, the row itself is removed later by UserPurgeJob
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "deleted_at")
+    private Date deletedAt;
+
+    // Roles are seeded reference data, never persisted or merged through a user.
+    // Lazy: only the lookups using the WITH_ROLES graph need them, and those join them in one query.
+    @ManyToMany(fetch = FetchType.LAZY, cascade = {
             CascadeType.DETACH,
             CascadeType.REFRESH
     })
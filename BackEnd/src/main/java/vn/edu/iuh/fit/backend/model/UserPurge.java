@@ -0,0 +1,56 @@
+/*
+ * @ (#) UserPurge.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.model;
+/*
+ * @description: Progress of the background removal of a deleted user and their posts
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+
+@Entity
+@Table(name = "user_purges", indexes = {
+        @Index(name = "idx_user_purges_status_requested_at", columnList = "status, requested_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPurge {
+    public enum Status { PENDING, DONE }
+
+    // Not a foreign key: the row outlives the user it describes
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column(name = "posts_deleted", nullable = false)
+    private long postsDeleted;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "requested_at", nullable = false)
+    private Date requestedAt;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "completed_at")
+    private Date completedAt;
+}
@@ -0,0 +1,62 @@
+/*
+ * @ (#) JwtHandlerFilter.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.reactive;
+/*
+ * @description: JWT check of the reactive read server, answered from token claims alone
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import vn.edu.iuh.fit.backend.security.JwtPrincipal;
+import vn.edu.iuh.fit.backend.security.JwtUtil;
+import vn.edu.iuh.fit.backend.security.SecurityEpochRegistry;
+
+// Runs on the event loop: signature checks are cached by JwtUtil and revocation is an in-memory
+// epoch lookup, so nothing here blocks. Tokens without the stateless claims have to log in again.
+public class JwtHandlerFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+    private static final String UNAUTHORIZED = "Bạn chưa đăng nhập hoặc token không hợp lệ.";
+
+    private final JwtUtil jwtUtil;
+    private final SecurityEpochRegistry epochRegistry;
+
+    public JwtHandlerFilter(JwtUtil jwtUtil, SecurityEpochRegistry epochRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.epochRegistry = epochRegistry;
+    }
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        String authorizationHeader = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            return unauthorized();
+        }
+        try {
+            Claims claims = jwtUtil.parseClaims(authorizationHeader.substring(7));
+            JwtPrincipal principal = jwtUtil.principalOf(claims);
+            if (principal == null || !epochRegistry.isCurrent(principal.userId(), jwtUtil.epochOf(claims))) {
+                return unauthorized();
+            }
+        } catch (JwtException e) {
+            return unauthorized();
+        }
+        return next.handle(request);
+    }
+
+    private static Mono<ServerResponse> unauthorized() {
+        return PostReadHandler.error(HttpStatus.UNAUTHORIZED, "UNAUTHORIZED", UNAUTHORIZED);
+    }
+}
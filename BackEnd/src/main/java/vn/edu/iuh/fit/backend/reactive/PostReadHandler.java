@@ -0,0 +1,115 @@
+/*
+ * @ (#) PostReadHandler.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.reactive;
+/*
+ * @description: Handler functions of the reactive GET /api/posts and GET /api/posts/{id}
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import vn.edu.iuh.fit.backend.dto.response.BaseResponse;
+import vn.edu.iuh.fit.backend.dto.response.PaginatedPostsResponse;
+import vn.edu.iuh.fit.backend.dto.response.PostResponse;
+import vn.edu.iuh.fit.backend.exception.ErrorResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Offset pages of the full view only, cursor and summary listings stay on the MVC endpoint
+public class PostReadHandler {
+
+    // Feed options only the MVC endpoint implements, refused so clients fall back instead of getting a different list
+    private static final List<String> UNSUPPORTED_PARAMS = List.of("my-posts", "view", "after", "before");
+
+    private final ReactivePostRepository postRepository;
+
+    public PostReadHandler(ReactivePostRepository postRepository) {
+        this.postRepository = postRepository;
+    }
+
+    public Mono<ServerResponse> getPostById(ServerRequest request) {
+        Long id;
+        try {
+            id = Long.valueOf(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return badRequest("ID bài viết không hợp lệ.");
+        }
+        return postRepository.findById(id)
+                .flatMap(post -> ok(new BaseResponse<>(true, "Lấy bài viết thành công!", post)))
+                .switchIfEmpty(Mono.defer(() -> error(HttpStatus.NOT_FOUND, "POST_NOT_FOUND", "Không tìm thấy bài viết")));
+    }
+
+    public Mono<ServerResponse> getAllPosts(ServerRequest request) {
+        for (String param : UNSUPPORTED_PARAMS) {
+            if (request.queryParam(param).isPresent()) {
+                return badRequest("Tham số " + param + " không được hỗ trợ trên cổng này.");
+            }
+        }
+        int page;
+        int size;
+        try {
+            page = Integer.parseInt(request.queryParam("page").orElse("0"));
+            size = Integer.parseInt(request.queryParam("size").orElse("10"));
+        } catch (NumberFormatException e) {
+            return badRequest("Tham số phân trang không hợp lệ.");
+        }
+        if (page < 0 || size < 1) {
+            return badRequest("Tham số phân trang không hợp lệ.");
+        }
+        String sortBy = request.queryParam("sortBy").orElse("createdAt");
+        if (!ReactivePostRepository.SORT_COLUMNS.containsKey(sortBy)) {
+            return badRequest("Không hỗ trợ sắp xếp theo: " + sortBy);
+        }
+        String direction = request.queryParam("direction").orElse("desc");
+        if (!direction.equalsIgnoreCase("asc") && !direction.equalsIgnoreCase("desc")) {
+            return badRequest("Tham số direction chỉ nhận asc hoặc desc.");
+        }
+        boolean includeTotal = Boolean.parseBoolean(request.queryParam("include-total").orElse("true"));
+
+        // One extra row tells whether a next page exists without counting
+        Mono<List<PostResponse>> rows = postRepository
+                .findPage(sortBy, direction.equalsIgnoreCase("desc"), (long) page * size, size + 1)
+                .collectList();
+        Mono<Long> total = includeTotal ? postRepository.totalPosts() : Mono.just(-1L);
+
+        return Mono.zip(rows, total).flatMap(result -> {
+            List<PostResponse> posts = result.getT1();
+            boolean hasNext = posts.size() > size;
+
+            PaginatedPostsResponse<PostResponse> response = new PaginatedPostsResponse<>();
+            response.setPosts(hasNext ? new ArrayList<>(posts.subList(0, size)) : posts);
+            response.setCurrentPage(page);
+            if (includeTotal) {
+                long totalElements = result.getT2();
+                response.setTotalElements(totalElements);
+                response.setTotalPages((int) ((totalElements + size - 1) / size));
+            }
+            response.setHasNext(hasNext);
+            response.setHasPrevious(page > 0);
+            return ok(new BaseResponse<>(true, "Lấy danh sách bài viết thành công!", response));
+        });
+    }
+
+    private static Mono<ServerResponse> ok(Object body) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+    }
+
+    private static Mono<ServerResponse> badRequest(String message) {
+        return error(HttpStatus.BAD_REQUEST, "BAD_REQUEST", message);
+    }
+
+    static Mono<ServerResponse> error(HttpStatus status, String code, String message) {
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ErrorResponse(code, message));
+    }
+}
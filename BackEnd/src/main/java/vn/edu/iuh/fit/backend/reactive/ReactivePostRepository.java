@@ -0,0 +1,91 @@
+/*
+ * @ (#) ReactivePostRepository.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.reactive;
+/*
+ * @description: Post reads over R2DBC, mirrors the JPA queries behind GET /api/posts
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import vn.edu.iuh.fit.backend.dto.response.PostResponse;
+import vn.edu.iuh.fit.backend.model.PostCounter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+
+public class ReactivePostRepository {
+
+    private static final String SELECT_FULL = "SELECT p.id, p.title, p.content, p.created_at, p.updated_at, " +
+            "a.user_id, a.username, a.first_name, a.last_name FROM posts p JOIN users a ON a.user_id = p.author_id ";
+
+    // Same keys as PostRepositoryImpl.SORTABLE_FIELDS, mapped to columns since this is plain SQL
+    static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "p.id",
+            "title", "p.title",
+            "createdAt", "p.created_at",
+            "updatedAt", "p.updated_at");
+
+    private final DatabaseClient databaseClient;
+
+    public ReactivePostRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    // Same visibility rule as PostRepository.findPostResponseById
+    public Mono<PostResponse> findById(Long id) {
+        return databaseClient.sql(SELECT_FULL + "WHERE p.id = :id AND a.deleted_at IS NULL")
+                .bind("id", id)
+                .map(ReactivePostRepository::toPostResponse)
+                .one();
+    }
+
+    // sortBy must be a key of SORT_COLUMNS, createdAt is tie-broken on id like the offset pages of PostServiceImpl
+    public Flux<PostResponse> findPage(String sortBy, boolean descending, long offset, int limit) {
+        String direction = descending ? "DESC" : "ASC";
+        String orderBy = "ORDER BY " + SORT_COLUMNS.get(sortBy) + " " + direction
+                + ("createdAt".equals(sortBy) ? ", p.id " + direction : "");
+        return databaseClient.sql(SELECT_FULL + orderBy + " LIMIT :limit OFFSET :offset")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactivePostRepository::toPostResponse)
+                .all();
+    }
+
+    // Totals come from the materialized counter, never from COUNT(*)
+    public Mono<Long> totalPosts() {
+        return databaseClient.sql("SELECT counter_value FROM post_counters WHERE name = :name")
+                .bind("name", PostCounter.TOTAL_POSTS)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .defaultIfEmpty(0L);
+    }
+
+    private static PostResponse toPostResponse(Readable row) {
+        return new PostResponse(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("content", String.class),
+                toDate(row.get("created_at", LocalDateTime.class)),
+                toDate(row.get("updated_at", LocalDateTime.class)),
+                row.get("user_id", Long.class),
+                row.get("username", String.class),
+                row.get("first_name", String.class),
+                row.get("last_name", String.class));
+    }
+
+    // DATETIME columns carry no zone, read them in the JVM zone as the JDBC driver does
+    private static Date toDate(LocalDateTime value) {
+        return value == null ? null : Date.from(value.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
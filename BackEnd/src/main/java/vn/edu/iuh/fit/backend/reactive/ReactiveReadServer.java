@@ -0,0 +1,132 @@
+/*
+ * @ (#) ReactiveReadServer.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.reactive;
+/*
+ * @description: Netty server answering post reads over R2DBC next to the servlet application
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import vn.edu.iuh.fit.backend.security.JwtUtil;
+import vn.edu.iuh.fit.backend.security.SecurityEpochRegistry;
+
+import java.time.Duration;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+
+// The servlet application keeps serving everything, including all writes. This server only takes
+// the two hot reads, so they scale with connections instead of threads. The R2DBC pool is kept
+// out of the context on purpose: a ConnectionFactory bean would switch off the JDBC DataSource.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "reactive.enabled", havingValue = "true")
+public class ReactiveReadServer implements SmartLifecycle {
+
+    private final ObjectMapper objectMapper;
+    private final JwtUtil jwtUtil;
+    private final SecurityEpochRegistry epochRegistry;
+    private final int port;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int maxPoolSize;
+
+    private ConnectionPool connectionPool;
+    private DisposableServer server;
+
+    public ReactiveReadServer(ObjectMapper objectMapper, JwtUtil jwtUtil, SecurityEpochRegistry epochRegistry,
+                              @Value("${reactive.port}") int port,
+                              @Value("${reactive.r2dbc.url}") String url,
+                              @Value("${reactive.r2dbc.username}") String username,
+                              @Value("${reactive.r2dbc.password}") String password,
+                              @Value("${reactive.r2dbc.max-pool-size}") int maxPoolSize) {
+        this.objectMapper = objectMapper;
+        this.jwtUtil = jwtUtil;
+        this.epochRegistry = epochRegistry;
+        this.port = port;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    @Override
+    public void start() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("reactive-read")
+                .maxSize(maxPoolSize)
+                .maxIdleTime(Duration.ofMinutes(30))
+                .build());
+
+        PostReadHandler handler = new PostReadHandler(new ReactivePostRepository(DatabaseClient.create(connectionPool)));
+        RouterFunction<ServerResponse> router = RouterFunctions.route()
+                .GET("/api/posts/{id}", handler::getPostById)
+                .GET("/api/posts", handler::getAllPosts)
+                .filter(new JwtHandlerFilter(jwtUtil, epochRegistry))
+                .build();
+
+        // Same ObjectMapper as MVC, so both servers write identical JSON
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        server = HttpServer.create()
+                .port(port)
+                .handle(new ReactorHttpHandlerAdapter(RouterFunctions.toHttpHandler(router, strategies)))
+                .bindNow();
+        log.info("Reactive read server listening on port {}", server.port());
+    }
+
+    @Override
+    public void stop() {
+        if (server != null) {
+            server.disposeNow();
+            server = null;
+        }
+        if (connectionPool != null) {
+            connectionPool.dispose();
+            connectionPool = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    // Bound port, useful when reactive.port is 0
+    public int getPort() {
+        return server.port();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * @ (#) PostBatchRepository.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.repository;
+/*
+ * @description: JDBC batch inserts for posts, used where Hibernate cannot batch IDENTITY inserts
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class PostBatchRepository {
+    private static final String INSERT_POST = "INSERT INTO posts (title, content, excerpt, author_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record PostRow(String title, String content, String excerpt, Long authorId, Date createdAt) {
+    }
+
+    // One batched statement for the whole list, returns the generated ids in insertion order
+    public List<Long> insertAll(List<PostRow> rows) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_POST, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        PostRow row = rows.get(i);
+                        Timestamp createdAt = new Timestamp(row.createdAt().getTime());
+                        ps.setString(1, row.title());
+                        ps.setString(2, row.content());
+                        ps.setString(3, row.excerpt());
+                        ps.setLong(4, row.authorId());
+                        ps.setTimestamp(5, createdAt);
+                        ps.setTimestamp(6, createdAt);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keyHolder);
+
+        // MySQL reports the key as GENERATED_KEY and H2 as ID, each map holds a single column
+        return keyHolder.getKeyList().stream()
+                .map(Map::values)
+                .map(values -> ((Number) values.iterator().next()).longValue())
+                .toList();
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * @ (#) PostCounterRepository.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.repository;
+/*
+ * @description:
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import vn.edu.iuh.fit.backend.model.PostCounter;
+
+import java.util.Optional;
+
+@Repository
+public interface PostCounterRepository extends JpaRepository<PostCounter, String> {
+
+    @Query("SELECT c.value FROM PostCounter c WHERE c.name = :name")
+    Optional<Long> findValueByName(String name);
+
+    // Atomic in-database increment so concurrent writers never lose updates
+    @Modifying
+    @Query("UPDATE PostCounter c SET c.value = c.value + :delta WHERE c.name = :name")
+    int increment(String name, long delta);
+
+    @Modifying
+    @Query(value = "UPDATE post_counters SET counter_value = (SELECT COUNT(*) FROM posts) WHERE name = :name",
+            nativeQuery = true)
+    int reconcile(String name);
+}
@@ -0,0 +1,49 @@
+/*
+ * @ (#) PostProjection.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.repository;
+/*
+ * @description: Constructor expressions used to read post rows straight into response DTOs
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import vn.edu.iuh.fit.backend.dto.response.PostListItem;
+import vn.edu.iuh.fit.backend.dto.response.PostResponse;
+import vn.edu.iuh.fit.backend.dto.response.PostSummaryResponse;
+import vn.edu.iuh.fit.backend.dto.response.PostVersion;
+
+public final class PostProjection<T extends PostListItem> {
+
+    // Full rows, including the TEXT body
+    public static final PostProjection<PostResponse> FULL = new PostProjection<>(PostResponse.class,
+            "p.id, p.title, p.content, p.createdAt, p.updatedAt, a.userId, a.username, a.firstName, a.lastName");
+
+    // Listing rows with the stored excerpt, the TEXT body is never selected
+    public static final PostProjection<PostSummaryResponse> SUMMARY = new PostProjection<>(PostSummaryResponse.class,
+            "p.id, p.title, p.excerpt, p.createdAt, p.updatedAt, a.userId, a.username, a.firstName, a.lastName");
+
+    // Only what a page ETag is computed from, used to answer If-None-Match
+    public static final PostProjection<PostVersion> VERSION = new PostProjection<>(PostVersion.class,
+            "p.id, p.createdAt, p.updatedAt");
+
+    private final Class<T> type;
+    private final String select;
+
+    private PostProjection(Class<T> type, String columns) {
+        this.type = type;
+        this.select = "SELECT new " + type.getName() + "(" + columns + ") FROM Post p JOIN p.author a ";
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    public String getSelect() {
+        return select;
+    }
+}
@@ -12,17 +12,78 @@ package vn.edu.iuh.fit.backend.repository;
  * @version:    1.0
  */
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import vn.edu.iuh.fit.backend.dto.response.PostResponse;
 import vn.edu.iuh.fit.backend.model.Post;
-import vn.edu.iuh.fit.backend.model.User;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface PostRepository extends JpaRepository<Post, Long> {
+public interface PostRepository extends JpaRepository<Post, Long>, PostRepositoryCustom {
 
-    Page<Post> findByAuthor(User user, Pageable pageable);
+    // Builds PostResponse straight from the row: one statement, no User entity and no roles join
+    String POST_RESPONSE = "SELECT new vn.edu.iuh.fit.backend.dto.response.PostResponse(" +
+            "p.id, p.title, p.content, p.createdAt, p.updatedAt, " +
+            "a.userId, a.username, a.firstName, a.lastName) " +
+            "FROM Post p JOIN p.author a ";
+
+    // Like every other post read, a deleted author's posts stay visible until the purge removes them
+    @Query(POST_RESPONSE + "WHERE p.id = :id")
+    Optional<PostResponse> findPostResponseById(Long id);
+
+    interface TitleView {
+        Long getId();
+        String getTitle();
+    }
+
+    // Newest first, the limit keeps the database from reading past the titles that are kept
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p.id AS id, p.title AS title FROM Post p ORDER BY p.id DESC")
+    Stream<TitleView> streamNewestTitles(Limit limit);
+
+    // Every post id in order, used to find posts the search index still holds after they were deleted
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p.id FROM Post p ORDER BY p.id")
+    Stream<Long> streamAllIds();
+
+    // Version lookup for conditional GETs, same visibility rule as findPostResponseById
+    @Query("SELECT p.updatedAt FROM Post p WHERE p.id = :id")
+    Optional<Date> findUpdatedAtById(Long id);
+
+    // Next chunk of the user purge, ids are kept so caches and the search index can drop them
+    @Query("SELECT p.id FROM Post p WHERE p.author.userId = :authorId ORDER BY p.id")
+    List<Long> findIdsByAuthorId(Long authorId, Limit limit);
+
+    // Bounded set-based delete used by the user purge, keeps each transaction short
+    @Modifying
+    @Query("DELETE FROM Post p WHERE p.id IN :ids")
+    int deleteByIds(Collection<Long> ids);
+
+    interface ContentView {
+        Long getId();
+        String getContent();
+    }
+
+    @Query("SELECT MAX(p.id) FROM Post p")
+    Optional<Long> findMaxId();
+
+    // Rows written before the excerpt column existed, within one bounded id range of the backfill
+    @Query("SELECT p.id AS id, p.content AS content FROM Post p " +
+            "WHERE p.id > :afterId AND p.id <= :toId AND p.excerpt IS NULL")
+    List<ContentView> findMissingExcerpts(Long afterId, Long toId);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.excerpt = :excerpt WHERE p.id = :id")
+    int updateExcerpt(Long id, String excerpt);
 }
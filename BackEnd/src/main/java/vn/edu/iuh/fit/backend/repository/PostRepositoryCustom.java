@@ -0,0 +1,42 @@
+/*
+ * @ (#) PostRepositoryCustom.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.repository;
+/*
+ * @description: Listing queries shared by every PostProjection
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import vn.edu.iuh.fit.backend.dto.response.PostListItem;
+import vn.edu.iuh.fit.backend.util.PostCursor;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface PostRepositoryCustom {
+
+    // Offset page read as a Slice (size + 1 rows, no COUNT(*)), optionally restricted to one author
+    <T extends PostListItem> Slice<T> findPage(PostProjection<T> projection, Long authorId, Pageable pageable);
+
+    // Keyset seek over (createdAt, id) starting after the cursor, or from either end when cursor is null
+    <T extends PostListItem> List<T> seek(PostProjection<T> projection, Long authorId, PostCursor cursor,
+                                          boolean olderFirst, int limit);
+
+    // Forward-only cursor over every post in id order, must be consumed and closed inside a transaction
+    <T extends PostListItem> Stream<T> streamAll(PostProjection<T> projection, int fetchSize);
+
+    // Same cursor restricted to posts written after the given instant
+    <T extends PostListItem> Stream<T> streamUpdatedSince(PostProjection<T> projection, Date since, int fetchSize);
+
+    // Rows for the given ids in no particular order, missing ids are simply absent
+    <T extends PostListItem> List<T> findByIds(PostProjection<T> projection, Collection<Long> ids);
+}
@@ -0,0 +1,139 @@
+/*
+ * @ (#) PostRepositoryImpl.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.repository;
+/*
+ * @description:
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import vn.edu.iuh.fit.backend.dto.response.PostListItem;
+import vn.edu.iuh.fit.backend.exception.BadRequestException;
+import vn.edu.iuh.fit.backend.util.PostCursor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class PostRepositoryImpl implements PostRepositoryCustom {
+
+    // Sort keys are user input and end up in JPQL, only these are accepted
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "title", "createdAt", "updatedAt");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public <T extends PostListItem> Slice<T> findPage(PostProjection<T> projection, Long authorId, Pageable pageable) {
+        StringBuilder jpql = new StringBuilder(projection.getSelect());
+        if (authorId != null) {
+            jpql.append("WHERE p.author.userId = :authorId ");
+        }
+        jpql.append(orderBy(pageable.getSort()));
+
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), projection.getType());
+        if (authorId != null) {
+            query.setParameter("authorId", authorId);
+        }
+        List<T> rows = query
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public <T extends PostListItem> List<T> seek(PostProjection<T> projection, Long authorId, PostCursor cursor,
+                                                 boolean olderFirst, int limit) {
+        // Backed by idx_posts_created_at_id and idx_posts_author_created_at_id
+        String comparison = olderFirst ? "<" : ">";
+        String order = olderFirst ? "DESC" : "ASC";
+
+        List<String> conditions = new ArrayList<>();
+        if (authorId != null) {
+            conditions.add("p.author.userId = :authorId");
+        }
+        if (cursor != null) {
+            conditions.add("(p.createdAt " + comparison + " :createdAt OR " +
+                    "(p.createdAt = :createdAt AND p.id " + comparison + " :id))");
+        }
+
+        StringBuilder jpql = new StringBuilder(projection.getSelect());
+        if (!conditions.isEmpty()) {
+            jpql.append("WHERE ").append(String.join(" AND ", conditions)).append(' ');
+        }
+        jpql.append("ORDER BY p.createdAt ").append(order).append(", p.id ").append(order);
+
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), projection.getType());
+        if (authorId != null) {
+            query.setParameter("authorId", authorId);
+        }
+        if (cursor != null) {
+            query.setParameter("createdAt", cursor.createdAt());
+            query.setParameter("id", cursor.id());
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public <T extends PostListItem> Stream<T> streamAll(PostProjection<T> projection, int fetchSize) {
+        // Constructor results are never managed, so the persistence context stays empty however many rows pass
+        return entityManager.createQuery(projection.getSelect() + "ORDER BY p.id", projection.getType())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public <T extends PostListItem> Stream<T> streamUpdatedSince(PostProjection<T> projection, Date since, int fetchSize) {
+        return entityManager.createQuery(projection.getSelect() + "WHERE p.updatedAt > :since ORDER BY p.id",
+                        projection.getType())
+                .setParameter("since", since)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public <T extends PostListItem> List<T> findByIds(PostProjection<T> projection, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createQuery(projection.getSelect() + "WHERE p.id IN :ids", projection.getType())
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    private String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        return sort.stream()
+                .map(order -> {
+                    if (!SORTABLE_FIELDS.contains(order.getProperty())) {
+                        throw new BadRequestException("Không hỗ trợ sắp xếp theo: " + order.getProperty());
+                    }
+                    return "p." + order.getProperty() + " " + order.getDirection().name();
+                })
+                .collect(Collectors.joining(", ", "ORDER BY ", ""));
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * @ (#) UserPurgeRepository.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.repository;
+/*
+ * @description: 
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import vn.edu.iuh.fit.backend.model.UserPurge;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface UserPurgeRepository extends JpaRepository<UserPurge, Long> {
+
+    @Query("SELECT p.userId FROM UserPurge p WHERE p.status = :status ORDER BY p.requestedAt")
+    List<Long> findUserIdsByStatus(UserPurge.Status status);
+
+    @Query("SELECT p.userId FROM UserPurge p")
+    List<Long> findAllUserIds();
+
+    @Modifying
+    @Query("UPDATE UserPurge p SET p.postsDeleted = p.postsDeleted + :deleted WHERE p.userId = :userId")
+    int addProgress(Long userId, long deleted);
+
+    @Modifying
+    @Query("UPDATE UserPurge p SET p.status = vn.edu.iuh.fit.backend.model.UserPurge.Status.DONE, " +
+            "p.completedAt = :completedAt WHERE p.userId = :userId")
+    int markDone(Long userId, Date completedAt);
+}
@@ -12,15 +12,87 @@ package vn.edu.iuh.fit.backend.repository;
  * @version:    1.0
  */
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import vn.edu.iuh.fit.backend.model.User;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     Optional<User> findByUsername(String username);
+
+    @EntityGraph(User.WITH_ROLES)
+    Optional<User> findWithRolesByUsername(String username);
+
+    @EntityGraph(User.WITH_ROLES)
+    Optional<User> findWithRolesByUserId(Long userId);
+
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // Resolves only the id, without loading the entity
+    @Query("SELECT u.userId FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(String username);
+
+    @Query("SELECT u.postCount FROM User u WHERE u.userId = :userId")
+    long findPostCountByUserId(Long userId);
+
+    @Modifying
+    @Query("UPDATE User u SET u.postCount = u.postCount + :delta WHERE u.userId = :userId")
+    int adjustPostCount(Long userId, long delta);
+
+    // Repairs per-author counters that drifted from the real number of posts
+    @Modifying
+    @Query(value = "UPDATE users u SET post_count = " +
+            "(SELECT COUNT(*) FROM posts p WHERE p.author_id = u.user_id) " +
+            "WHERE u.post_count <> (SELECT COUNT(*) FROM posts p WHERE p.author_id = u.user_id)",
+            nativeQuery = true)
+    int reconcilePostCounts();
+
+    @Modifying
+    @Query("UPDATE User u SET u.deletedAt = :deletedAt, u.securityEpoch = u.securityEpoch + 1 " +
+            "WHERE u.userId = :userId AND u.deletedAt IS NULL")
+    int markDeleted(Long userId, Date deletedAt);
+
+    // Final step of a purge, once the user has no posts left
+    @Modifying
+    @Query(value = "DELETE FROM users_roles WHERE user_id = :userId", nativeQuery = true)
+    int deleteRoleLinks(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.userId = :userId")
+    int deleteRowById(Long userId);
+
+    interface UsernameView {
+        Long getUserId();
+        String getUsername();
+    }
+
+    // Accounts marked deleted are left out, their posts would only be removed again by the purge
+    @Query("SELECT u.userId AS userId, u.username AS username FROM User u " +
+            "WHERE u.username IN :usernames AND u.deletedAt IS NULL")
+    List<UsernameView> findIdsByUsernameIn(Collection<String> usernames);
+
+    interface SecurityEpochView {
+        Long getUserId();
+        int getSecurityEpoch();
+    }
+
+    // Only users whose tokens were ever revoked, everyone else is implicitly at epoch 0
+    @Query("SELECT u.userId AS userId, u.securityEpoch AS securityEpoch FROM User u WHERE u.securityEpoch > 0")
+    List<SecurityEpochView> findRaisedSecurityEpochs();
+
+    @Query("SELECT u.securityEpoch FROM User u WHERE u.userId = :userId")
+    Optional<Integer> findSecurityEpochByUserId(Long userId);
+
+    @Modifying
+    @Query("UPDATE User u SET u.securityEpoch = u.securityEpoch + 1 WHERE u.userId = :userId")
+    int incrementSecurityEpoch(Long userId);
 }
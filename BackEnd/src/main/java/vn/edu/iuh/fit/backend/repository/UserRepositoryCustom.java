@@ -0,0 +1,24 @@
+/*
+ * @ (#) UserRepositoryCustom.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.repository;
+/*
+ * @description: Admin user listing built as a single aggregate projection query
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import vn.edu.iuh.fit.backend.dto.response.UserResponse;
+
+import java.util.List;
+
+public interface UserRepositoryCustom {
+
+    // Users in id order with their role names joined, filtered by username/email prefix and role when given.
+    // Starts after afterId when it is set, otherwise at offset
+    List<UserResponse> findRows(String prefix, String role, Long afterId, int offset, int limit);
+}
@@ -0,0 +1,75 @@
+/*
+ * @ (#) UserRepositoryImpl.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.repository;
+/*
+ * @description: 
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import vn.edu.iuh.fit.backend.dto.response.UserResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    // listagg renders as GROUP_CONCAT on MySQL, roles never become a lazy collection
+    private static final String SELECT = "SELECT new " + UserResponse.class.getName() +
+            "(u.userId, u.username, u.firstName, u.lastName, u.gender, u.email, " +
+            "listagg(r.roleName, ',') WITHIN GROUP (ORDER BY r.roleName)) " +
+            "FROM User u LEFT JOIN u.roles r ";
+
+    private static final String GROUP_BY = "GROUP BY u.userId, u.username, u.firstName, u.lastName, u.gender, u.email " +
+            "ORDER BY u.userId";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserResponse> findRows(String prefix, String role, Long afterId, int offset, int limit) {
+        List<String> conditions = new ArrayList<>();
+        // Deleted accounts disappear at once, their rows only wait for the purge job
+        conditions.add("u.deletedAt IS NULL");
+        if (prefix != null) {
+            // Prefix LIKE can use uk_users_username and uk_users_email
+            conditions.add("(u.username LIKE :prefix ESCAPE '\\' OR u.email LIKE :prefix ESCAPE '\\')");
+        }
+        if (role != null) {
+            conditions.add("EXISTS (SELECT 1 FROM User f JOIN f.roles fr WHERE f = u AND fr.roleName = :role)");
+        }
+        if (afterId != null) {
+            conditions.add("u.userId > :afterId");
+        }
+
+        StringBuilder jpql = new StringBuilder(SELECT);
+        jpql.append("WHERE ").append(String.join(" AND ", conditions)).append(' ');
+        jpql.append(GROUP_BY);
+
+        TypedQuery<UserResponse> query = entityManager.createQuery(jpql.toString(), UserResponse.class);
+        if (prefix != null) {
+            query.setParameter("prefix", escapeLike(prefix) + "%");
+        }
+        if (role != null) {
+            query.setParameter("role", role);
+        }
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+        } else {
+            query.setFirstResult(offset);
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * @ (#) IndexedDoc.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.search;
+/*
+ * @description:
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// One analyzed post: distinct terms with their frequency, and the token count used for BM25 length normalization
+public record IndexedDoc(long id, Map<String, Integer> termFrequencies, int length) {
+
+    public static IndexedDoc of(long id, String text) {
+        List<String> tokens = TextAnalyzer.tokenize(text);
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        for (String token : tokens) {
+            termFrequencies.merge(token, 1, Integer::sum);
+        }
+        return new IndexedDoc(id, termFrequencies, tokens.size());
+    }
+}
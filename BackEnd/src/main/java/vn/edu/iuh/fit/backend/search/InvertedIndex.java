@@ -0,0 +1,293 @@
+/*
+ * @ (#) InvertedIndex.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.search;
+/*
+ * @description: Segmented inverted index with BM25 ranking, persisted as segment files plus a manifest
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Writers (apply, save, load) are serialized on this instance; searches run concurrently under the read lock
+public class InvertedIndex {
+    private static final int MAX_SEGMENTS = 10;
+    private static final int MERGE_FACTOR = 5;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MANIFEST_MAGIC = 0x5053494D;
+    private static final String MANIFEST = "manifest";
+    private static final Pattern SEGMENT_FILE = Pattern.compile("segment-(\\d+)\\.(seg|del)(\\.tmp)?");
+    private static final Comparator<ScoredDoc> RANKING = Comparator.comparingDouble(ScoredDoc::score)
+            .thenComparingLong(ScoredDoc::id)
+            .reversed();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Segment> segments = new ArrayList<>();
+    private long nextGeneration = 1;
+
+    // Older versions of upserted posts are deleted first, so a post lives in at most one segment
+    public synchronized void apply(Collection<IndexedDoc> upserts, Collection<Long> deletes) {
+        Map<Long, IndexedDoc> docs = new LinkedHashMap<>();
+        upserts.forEach(doc -> docs.put(doc.id(), doc));
+        Segment added = docs.isEmpty() ? null : Segment.build(nextGeneration++, new ArrayList<>(docs.values()));
+
+        lock.writeLock().lock();
+        try {
+            for (Segment segment : segments) {
+                docs.keySet().forEach(segment::delete);
+                deletes.forEach(segment::delete);
+            }
+            segments.removeIf(segment -> segment.liveCount == 0);
+            if (added != null) {
+                segments.add(added);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        maybeMerge();
+    }
+
+    // Tiered merging: the smallest segments are folded together, so every post is rewritten O(log n) times
+    private void maybeMerge() {
+        if (segments.size() <= MAX_SEGMENTS) {
+            return;
+        }
+        List<Segment> sources = new ArrayList<>(segments);
+        sources.sort(Comparator.comparingInt(segment -> segment.liveCount));
+        Set<Segment> selected = new LinkedHashSet<>(sources.subList(0, MERGE_FACTOR));
+        // Segments that are mostly deleted are rewritten too, otherwise their space is never reclaimed
+        segments.stream()
+                .filter(segment -> segment.liveCount * 2 < segment.docIds.length)
+                .forEach(selected::add);
+        merge(new ArrayList<>(selected));
+    }
+
+    // Rewrites everything into a single segment, used after a full rebuild
+    public synchronized void forceMerge() {
+        if (segments.size() > 1) {
+            merge(new ArrayList<>(segments));
+        }
+    }
+
+    private void merge(List<Segment> sources) {
+        // Only the synchronized writer mutates segments, so sources can be read without the write lock
+        Segment merged = Segment.merge(nextGeneration++, sources);
+        lock.writeLock().lock();
+        try {
+            segments.removeAll(sources);
+            segments.add(merged);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SearchHits search(String query, int limit) {
+        List<String> terms = TextAnalyzer.tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty() || limit <= 0) {
+            return new SearchHits(0, List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            long docCount = 0;
+            long totalLength = 0;
+            for (Segment segment : segments) {
+                docCount += segment.liveCount;
+                totalLength += segment.liveLength;
+            }
+            if (docCount == 0) {
+                return new SearchHits(0, List.of());
+            }
+            double averageLength = Math.max(1.0, (double) totalLength / docCount);
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                // Like Lucene, document frequency still counts deleted docs until their segment is merged
+                long docFrequency = 0;
+                for (Segment segment : segments) {
+                    byte[] data = segment.postings.get(term);
+                    if (data != null) {
+                        docFrequency += Postings.docFrequency(data);
+                    }
+                }
+                if (docFrequency == 0) {
+                    continue;
+                }
+                docFrequency = Math.min(docFrequency, docCount);
+                double idf = Math.log(1 + (docCount - docFrequency + 0.5) / (docFrequency + 0.5));
+
+                for (Segment segment : segments) {
+                    byte[] data = segment.postings.get(term);
+                    if (data == null) {
+                        continue;
+                    }
+                    Postings.forEach(data, (ordinal, tf) -> {
+                        if (segment.isLive(ordinal)) {
+                            double norm = K1 * (1 - B + B * segment.docLengths[ordinal] / averageLength);
+                            scores.merge(segment.docIds[ordinal], idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                        }
+                    });
+                }
+            }
+
+            PriorityQueue<ScoredDoc> worstFirst = new PriorityQueue<>(RANKING.reversed());
+            scores.forEach((id, score) -> {
+                worstFirst.offer(new ScoredDoc(id, score));
+                if (worstFirst.size() > limit) {
+                    worstFirst.poll();
+                }
+            });
+            List<ScoredDoc> top = new ArrayList<>(worstFirst);
+            top.sort(RANKING);
+            return new SearchHits(scores.size(), top);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return segments.stream().mapToLong(segment -> segment.liveCount).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int segmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ascending ids of every live post, used to reconcile the index with the database
+    public long[] liveIds() {
+        lock.readLock().lock();
+        try {
+            long[] ids = new long[(int) segments.stream().mapToLong(segment -> segment.liveCount).sum()];
+            int next = 0;
+            for (Segment segment : segments) {
+                for (int ordinal = 0; ordinal < segment.docIds.length; ordinal++) {
+                    if (segment.isLive(ordinal)) {
+                        ids[next++] = segment.docIds[ordinal];
+                    }
+                }
+            }
+            Arrays.sort(ids);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public synchronized void clear() {
+        lock.writeLock().lock();
+        try {
+            segments.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Writes new segments and changed deletion bits, then switches the manifest; checkpoint is opaque to the index
+    public synchronized void save(Path dir, long checkpoint) throws IOException {
+        Files.createDirectories(dir);
+        for (Segment segment : segments) {
+            segment.write(dir);
+        }
+
+        Path tmp = dir.resolve(MANIFEST + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MANIFEST_MAGIC);
+            out.writeInt(TextAnalyzer.VERSION);
+            out.writeLong(checkpoint);
+            out.writeLong(nextGeneration);
+            out.writeInt(segments.size());
+            for (Segment segment : segments) {
+                out.writeLong(segment.generation);
+            }
+        }
+        Files.move(tmp, dir.resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        Set<Long> current = new HashSet<>();
+        segments.forEach(segment -> current.add(segment.generation));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                Matcher matcher = SEGMENT_FILE.matcher(file.getFileName().toString());
+                if (matcher.matches() && !current.contains(Long.parseLong(matcher.group(1)))) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    // Replaces the contents with the saved segments; empty when nothing usable was saved
+    public synchronized OptionalLong load(Path dir) throws IOException {
+        Path manifest = dir.resolve(MANIFEST);
+        if (!Files.exists(manifest)) {
+            return OptionalLong.empty();
+        }
+
+        long checkpoint;
+        long generation;
+        long[] generations;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(manifest)))) {
+            if (in.readInt() != MANIFEST_MAGIC || in.readInt() != TextAnalyzer.VERSION) {
+                return OptionalLong.empty();
+            }
+            checkpoint = in.readLong();
+            generation = in.readLong();
+            generations = new long[in.readInt()];
+            for (int i = 0; i < generations.length; i++) {
+                generations[i] = in.readLong();
+            }
+        }
+
+        List<Segment> loaded = new ArrayList<>();
+        for (long segmentGeneration : generations) {
+            loaded.add(Segment.read(dir, segmentGeneration));
+        }
+        lock.writeLock().lock();
+        try {
+            segments.clear();
+            segments.addAll(loaded);
+            nextGeneration = generation;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return OptionalLong.of(checkpoint);
+    }
+}
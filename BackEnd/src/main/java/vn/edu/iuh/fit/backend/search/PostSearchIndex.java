@@ -0,0 +1,297 @@
+/*
+ * @ (#) PostSearchIndex.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.search;
+/*
+ * @description: Keeps the post inverted index in sync with the database and snapshots it to disk
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import vn.edu.iuh.fit.backend.dto.response.ExecutorStatsResponse;
+import vn.edu.iuh.fit.backend.dto.response.PostResponse;
+import vn.edu.iuh.fit.backend.event.PostChangedEvent;
+import vn.edu.iuh.fit.backend.event.PostsPurgedEvent;
+import vn.edu.iuh.fit.backend.exception.ServiceUnavailableException;
+import vn.edu.iuh.fit.backend.executor.MonitoredExecutor;
+import vn.edu.iuh.fit.backend.repository.PostProjection;
+import vn.edu.iuh.fit.backend.repository.PostRepository;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class PostSearchIndex implements MonitoredExecutor, DisposableBean {
+    // Events carry the whole post, beyond this the index catches up from the database instead
+    private static final int QUEUE_CAPACITY = 2_000;
+    private static final int BATCH_SIZE = 10_000;
+    private static final int FETCH_SIZE = 500;
+    // A snapshot cannot know about transactions that stamped updatedAt before it but committed after it
+    private static final Duration CHECKPOINT_SLACK = Duration.ofMinutes(5);
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path indexDir;
+    private final InvertedIndex index = new InvertedIndex();
+
+    // One writer thread applies every change in commit order, searches never wait for it
+    private final ThreadPoolExecutor writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), new CustomizableThreadFactory("search-index-"));
+    private final BlockingQueue<PostChangedEvent> pending = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    // Time of the first change that was not queued, 0 while every change is in the queue
+    private final AtomicLong dirtySince = new AtomicLong();
+    private final LongAdder applied = new LongAdder();
+    private volatile boolean ready;
+
+    public PostSearchIndex(PostRepository postRepository, PlatformTransactionManager transactionManager,
+                           @Value("${search.index-dir:}") String indexDir) {
+        this.postRepository = postRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.indexDir = indexDir.isBlank() ? null : Path.of(indexDir);
+    }
+
+    public SearchHits search(String query, int limit) {
+        if (!ready) {
+            throw new ServiceUnavailableException("Chỉ mục tìm kiếm đang được xây dựng, vui lòng thử lại sau.");
+        }
+        return index.search(query, limit);
+    }
+
+    // Drops posts the database no longer has, fed by user purges and by search hits found missing
+    public void forget(Collection<Long> postIds) {
+        postIds.forEach(id -> enqueue(PostChangedEvent.deleted(id)));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void open() {
+        writer.execute(this::loadOrBuild);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        enqueue(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsPurged(PostsPurgedEvent event) {
+        forget(event.postIds());
+    }
+
+    @Scheduled(fixedDelayString = "${search.snapshot-interval}", initialDelayString = "${search.snapshot-interval}")
+    public void snapshot() {
+        if (indexDir != null && ready) {
+            writer.execute(this::save);
+        }
+    }
+
+    // Never blocks the publisher: while the index is built or when the queue is full the change is
+    // dropped and the index re-reads everything changed since then from the database
+    private void enqueue(PostChangedEvent event) {
+        if (!ready || !pending.offer(event)) {
+            markDirty();
+        }
+        // Read again after marking, loadOrBuild sets ready before it looks at dirtySince
+        if (ready && drainScheduled.compareAndSet(false, true)) {
+            writer.execute(this::drain);
+        }
+    }
+
+    private void markDirty() {
+        if (dirtySince.compareAndSet(0, System.currentTimeMillis()) && ready) {
+            log.warn("Search index queue is full, catching up from the database");
+        }
+    }
+
+    private void drain() {
+        // Cleared first so an event queued while draining schedules another run
+        drainScheduled.set(false);
+        List<PostChangedEvent> batch = new ArrayList<>();
+        while (pending.drainTo(batch, BATCH_SIZE) > 0) {
+            Map<Long, IndexedDoc> upserts = new LinkedHashMap<>();
+            List<Long> deletes = new ArrayList<>();
+            for (PostChangedEvent event : batch) {
+                if (event.type() == PostChangedEvent.Type.DELETED) {
+                    upserts.remove(event.postId());
+                    deletes.add(event.postId());
+                } else {
+                    upserts.put(event.postId(), IndexedDoc.of(event.postId(), event.title() + "\n" + event.content()));
+                }
+            }
+            index.apply(upserts.values(), deletes);
+            applied.add(batch.size());
+            batch.clear();
+        }
+        catchUpIfDirty();
+    }
+
+    private void catchUpIfDirty() {
+        long since = dirtySince.getAndSet(0);
+        if (since != 0) {
+            catchUp(new Date(since - CHECKPOINT_SLACK.toMillis()));
+        }
+    }
+
+    private void loadOrBuild() {
+        long started = System.nanoTime();
+        try {
+            OptionalLong checkpoint = loadSnapshot();
+            if (checkpoint.isPresent()) {
+                catchUp(new Date(checkpoint.getAsLong()));
+            } else {
+                rebuild();
+            }
+            ready = true;
+            log.info("Search index ready: {} posts in {} segments after {} ms", index.size(), index.segmentCount(),
+                    (System.nanoTime() - started) / 1_000_000);
+            // Changes committed while building were not queued
+            catchUpIfDirty();
+        } catch (RuntimeException e) {
+            log.error("Building the search index failed, search stays unavailable", e);
+        }
+    }
+
+    private OptionalLong loadSnapshot() {
+        if (indexDir == null) {
+            return OptionalLong.empty();
+        }
+        try {
+            return index.load(indexDir);
+        } catch (IOException e) {
+            log.warn("Discarding unreadable search index in {}", indexDir, e);
+            index.clear();
+            return OptionalLong.empty();
+        }
+    }
+
+    private void rebuild() {
+        index.clear();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<PostResponse> posts = postRepository.streamAll(PostProjection.FULL, FETCH_SIZE)) {
+                indexAll(posts);
+            }
+        });
+        index.forceMerge();
+        save();
+    }
+
+    // Re-reads what changed since the snapshot, then diffs ids to find posts added or deleted without an update
+    private void catchUp(Date checkpoint) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<PostResponse> posts = postRepository.streamUpdatedSince(PostProjection.FULL, checkpoint, FETCH_SIZE)) {
+                indexAll(posts);
+            }
+
+            long[] indexed = index.liveIds();
+            List<Long> missing = new ArrayList<>();
+            List<Long> removed = new ArrayList<>();
+            int next = 0;
+            try (Stream<Long> ids = postRepository.streamAllIds()) {
+                Iterator<Long> iterator = ids.iterator();
+                while (iterator.hasNext()) {
+                    long id = iterator.next();
+                    while (next < indexed.length && indexed[next] < id) {
+                        removed.add(indexed[next++]);
+                    }
+                    if (next < indexed.length && indexed[next] == id) {
+                        next++;
+                    } else {
+                        missing.add(id);
+                    }
+                }
+            }
+            while (next < indexed.length) {
+                removed.add(indexed[next++]);
+            }
+
+            index.apply(List.of(), removed);
+            for (int from = 0; from < missing.size(); from += BATCH_SIZE) {
+                List<Long> ids = missing.subList(from, Math.min(missing.size(), from + BATCH_SIZE));
+                indexAll(postRepository.findByIds(PostProjection.FULL, ids).stream());
+            }
+            log.info("Search index caught up from {}: {} posts added, {} removed", checkpoint, missing.size(), removed.size());
+        });
+    }
+
+    private void indexAll(Stream<PostResponse> posts) {
+        List<IndexedDoc> batch = new ArrayList<>(BATCH_SIZE);
+        Iterator<PostResponse> iterator = posts.iterator();
+        while (iterator.hasNext()) {
+            PostResponse post = iterator.next();
+            batch.add(IndexedDoc.of(post.getId(), post.getTitle() + "\n" + post.getContent()));
+            if (batch.size() == BATCH_SIZE || !iterator.hasNext()) {
+                index.apply(batch, List.of());
+                batch.clear();
+            }
+        }
+    }
+
+    private void save() {
+        if (indexDir == null) {
+            return;
+        }
+        try {
+            index.save(indexDir, System.currentTimeMillis() - CHECKPOINT_SLACK.toMillis());
+        } catch (IOException e) {
+            log.warn("Could not snapshot the search index to {}", indexDir, e);
+        }
+    }
+
+    @Override
+    public ExecutorStatsResponse stats() {
+        return new ExecutorStatsResponse("search-index", writer.getPoolSize(), writer.getActiveCount(),
+                pending.size(), QUEUE_CAPACITY, applied.sum(), 0);
+    }
+
+    // Queued changes are applied and written out, so the next start only catches up
+    @Override
+    public void destroy() throws InterruptedException {
+        if (ready) {
+            writer.execute(this::drain);
+            writer.execute(this::save);
+        }
+        writer.shutdown();
+        if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+            writer.shutdownNow();
+        }
+    }
+}
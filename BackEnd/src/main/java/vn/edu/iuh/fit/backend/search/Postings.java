@@ -0,0 +1,81 @@
+/*
+ * @ (#) Postings.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.search;
+/*
+ * @description: Compressed posting lists: doc count, then (ordinal gap, term frequency) pairs as varints
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import java.util.Arrays;
+
+final class Postings {
+
+    interface Visitor {
+        void accept(int ordinal, int termFrequency);
+    }
+
+    private Postings() {
+    }
+
+    // pairs holds (ordinal, tf) flattened, ordinals strictly ascending
+    static byte[] encode(IntList pairs) {
+        int count = pairs.size() / 2;
+        byte[] out = new byte[5 + pairs.size() * 5];
+        int pos = writeVarInt(out, 0, count);
+        int previous = 0;
+        for (int i = 0; i < pairs.size(); i += 2) {
+            int ordinal = pairs.get(i);
+            pos = writeVarInt(out, pos, ordinal - previous);
+            pos = writeVarInt(out, pos, pairs.get(i + 1));
+            previous = ordinal;
+        }
+        return Arrays.copyOf(out, pos);
+    }
+
+    static int docFrequency(byte[] data) {
+        int value = 0;
+        for (int pos = 0, shift = 0; ; shift += 7) {
+            byte b = data[pos++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    static void forEach(byte[] data, Visitor visitor) {
+        int[] cursor = {0};
+        int count = readVarInt(data, cursor);
+        int ordinal = 0;
+        for (int i = 0; i < count; i++) {
+            ordinal += readVarInt(data, cursor);
+            visitor.accept(ordinal, readVarInt(data, cursor));
+        }
+    }
+
+    private static int writeVarInt(byte[] out, int pos, int value) {
+        while ((value & ~0x7F) != 0) {
+            out[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[pos++] = (byte) value;
+        return pos;
+    }
+
+    private static int readVarInt(byte[] data, int[] cursor) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = data[cursor[0]++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+}
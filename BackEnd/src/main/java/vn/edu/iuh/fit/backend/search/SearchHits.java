@@ -0,0 +1,19 @@
+/*
+ * @ (#) SearchHits.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.search;
+/*
+ * @description:
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import java.util.List;
+
+// Best matches first, totalHits counts every matching post
+public record SearchHits(long totalHits, List<ScoredDoc> top) {
+}
@@ -0,0 +1,259 @@
+/*
+ * @ (#) Segment.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.search;
+/*
+ * @description: Immutable run of indexed posts with per-term compressed postings; only its deletion bits change
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+final class Segment {
+    private static final int MAGIC = 0x50534547;
+    private static final int FORMAT_VERSION = 1;
+
+    final long generation;
+    // Ascending post ids, postings refer to positions in this array
+    final long[] docIds;
+    final int[] docLengths;
+    final Map<String, byte[]> postings;
+    final BitSet deleted;
+
+    int liveCount;
+    long liveLength;
+    boolean persisted;
+    boolean deletesDirty;
+
+    private Segment(long generation, long[] docIds, int[] docLengths, Map<String, byte[]> postings, BitSet deleted) {
+        this.generation = generation;
+        this.docIds = docIds;
+        this.docLengths = docLengths;
+        this.postings = postings;
+        this.deleted = deleted;
+        for (int ordinal = 0; ordinal < docIds.length; ordinal++) {
+            if (!deleted.get(ordinal)) {
+                liveCount++;
+                liveLength += docLengths[ordinal];
+            }
+        }
+    }
+
+    // docs must have distinct ids
+    static Segment build(long generation, List<IndexedDoc> docs) {
+        List<IndexedDoc> sorted = new ArrayList<>(docs);
+        sorted.sort(Comparator.comparingLong(IndexedDoc::id));
+
+        long[] docIds = new long[sorted.size()];
+        int[] docLengths = new int[sorted.size()];
+        Map<String, IntList> pairs = new HashMap<>();
+        for (int ordinal = 0; ordinal < sorted.size(); ordinal++) {
+            IndexedDoc doc = sorted.get(ordinal);
+            docIds[ordinal] = doc.id();
+            docLengths[ordinal] = doc.length();
+            for (Map.Entry<String, Integer> term : doc.termFrequencies().entrySet()) {
+                IntList list = pairs.computeIfAbsent(term.getKey(), key -> new IntList());
+                list.add(ordinal);
+                list.add(term.getValue());
+            }
+        }
+
+        Map<String, byte[]> postings = new HashMap<>(pairs.size() * 2);
+        pairs.forEach((term, list) -> postings.put(term, Postings.encode(list)));
+        return new Segment(generation, docIds, docLengths, postings, new BitSet());
+    }
+
+    // Rewrites the live docs of several segments into one, dropping deleted docs; one term is decoded at a time
+    static Segment merge(long generation, List<Segment> sources) {
+        int total = sources.stream().mapToInt(segment -> segment.liveCount).sum();
+        long[] docIds = new long[total];
+        int next = 0;
+        for (Segment source : sources) {
+            for (int ordinal = 0; ordinal < source.docIds.length; ordinal++) {
+                if (!source.deleted.get(ordinal)) {
+                    docIds[next++] = source.docIds[ordinal];
+                }
+            }
+        }
+        Arrays.sort(docIds);
+
+        int[] docLengths = new int[total];
+        int[][] remap = new int[sources.size()][];
+        for (int s = 0; s < sources.size(); s++) {
+            Segment source = sources.get(s);
+            remap[s] = new int[source.docIds.length];
+            for (int ordinal = 0; ordinal < source.docIds.length; ordinal++) {
+                if (source.deleted.get(ordinal)) {
+                    remap[s][ordinal] = -1;
+                } else {
+                    int target = Arrays.binarySearch(docIds, source.docIds[ordinal]);
+                    remap[s][ordinal] = target;
+                    docLengths[target] = source.docLengths[ordinal];
+                }
+            }
+        }
+
+        Set<String> terms = new HashSet<>();
+        sources.forEach(source -> terms.addAll(source.postings.keySet()));
+
+        Map<String, byte[]> postings = new HashMap<>(terms.size() * 2);
+        long[][] packed = {new long[64]};
+        int[] size = {0};
+        for (String term : terms) {
+            size[0] = 0;
+            for (int s = 0; s < sources.size(); s++) {
+                byte[] data = sources.get(s).postings.get(term);
+                if (data == null) {
+                    continue;
+                }
+                int[] mapping = remap[s];
+                Postings.forEach(data, (ordinal, tf) -> {
+                    if (mapping[ordinal] >= 0) {
+                        if (size[0] == packed[0].length) {
+                            packed[0] = Arrays.copyOf(packed[0], size[0] * 2);
+                        }
+                        // new ordinal in the high bits so sorting the packed pairs sorts by ordinal
+                        packed[0][size[0]++] = ((long) mapping[ordinal] << 32) | tf;
+                    }
+                });
+            }
+            if (size[0] == 0) {
+                continue;
+            }
+            Arrays.sort(packed[0], 0, size[0]);
+            IntList list = new IntList();
+            for (int i = 0; i < size[0]; i++) {
+                list.add((int) (packed[0][i] >>> 32));
+                list.add((int) packed[0][i]);
+            }
+            postings.put(term, Postings.encode(list));
+        }
+        return new Segment(generation, docIds, docLengths, postings, new BitSet());
+    }
+
+    int ordinalOf(long docId) {
+        return Arrays.binarySearch(docIds, docId);
+    }
+
+    boolean isLive(int ordinal) {
+        return !deleted.get(ordinal);
+    }
+
+    boolean delete(long docId) {
+        int ordinal = ordinalOf(docId);
+        if (ordinal < 0 || deleted.get(ordinal)) {
+            return false;
+        }
+        deleted.set(ordinal);
+        liveCount--;
+        liveLength -= docLengths[ordinal];
+        deletesDirty = true;
+        return true;
+    }
+
+    void write(Path dir) throws IOException {
+        if (!persisted) {
+            Path file = dir.resolve(fileName(generation, "seg"));
+            Path tmp = dir.resolve(file.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(docIds.length);
+                for (int ordinal = 0; ordinal < docIds.length; ordinal++) {
+                    out.writeLong(docIds[ordinal]);
+                    out.writeInt(docLengths[ordinal]);
+                }
+                out.writeInt(postings.size());
+                for (Map.Entry<String, byte[]> entry : postings.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    out.write(entry.getValue());
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            persisted = true;
+            deletesDirty = true;
+        }
+        if (deletesDirty) {
+            Path file = dir.resolve(fileName(generation, "del"));
+            Path tmp = dir.resolve(file.getFileName() + ".tmp");
+            long[] words = deleted.toLongArray();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(words.length);
+                for (long word : words) {
+                    out.writeLong(word);
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            deletesDirty = false;
+        }
+    }
+
+    static Segment read(Path dir, long generation) throws IOException {
+        long[] docIds;
+        int[] docLengths;
+        Map<String, byte[]> postings;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(dir.resolve(fileName(generation, "seg")))))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unsupported segment format: " + generation);
+            }
+            int docCount = in.readInt();
+            docIds = new long[docCount];
+            docLengths = new int[docCount];
+            for (int ordinal = 0; ordinal < docCount; ordinal++) {
+                docIds[ordinal] = in.readLong();
+                docLengths[ordinal] = in.readInt();
+            }
+            int termCount = in.readInt();
+            postings = new HashMap<>(termCount * 2);
+            for (int i = 0; i < termCount; i++) {
+                String term = in.readUTF();
+                byte[] data = new byte[in.readInt()];
+                in.readFully(data);
+                postings.put(term, data);
+            }
+        }
+
+        BitSet deleted = new BitSet();
+        Path deletes = dir.resolve(fileName(generation, "del"));
+        if (Files.exists(deletes)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(deletes)))) {
+                long[] words = new long[in.readInt()];
+                for (int i = 0; i < words.length; i++) {
+                    words[i] = in.readLong();
+                }
+                deleted = BitSet.valueOf(words);
+            }
+        }
+
+        Segment segment = new Segment(generation, docIds, docLengths, postings, deleted);
+        segment.persisted = true;
+        return segment;
+    }
+
+    static String fileName(long generation, String extension) {
+        return "segment-" + generation + "." + extension;
+    }
+}
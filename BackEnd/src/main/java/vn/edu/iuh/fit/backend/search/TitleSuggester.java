@@ -0,0 +1,127 @@
+/*
+ * @ (#) TitleSuggester.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.search;
+/*
+ * @description: Serves title autocomplete from a TitleTrie that is rebuilt in the background after posts change
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import vn.edu.iuh.fit.backend.dto.response.TitleSuggestionResponse;
+import vn.edu.iuh.fit.backend.event.PostChangedEvent;
+import vn.edu.iuh.fit.backend.event.PostsPurgedEvent;
+import vn.edu.iuh.fit.backend.repository.PostRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class TitleSuggester implements DisposableBean {
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration rebuildDelay;
+    private final Duration minInterval;
+    private final int maxTitles;
+    private final ScheduledExecutorService rebuilder =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("title-suggest-"));
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    // Readers always see one complete trie, a rebuild replaces it in a single write
+    private volatile TitleTrie trie = TitleTrie.EMPTY;
+    // Only touched on the rebuilder thread
+    private long lastRebuildFinished;
+
+    public TitleSuggester(PostRepository postRepository, PlatformTransactionManager transactionManager,
+                          @Value("${search.suggest.rebuild-delay}") Duration rebuildDelay,
+                          @Value("${search.suggest.min-interval}") Duration minInterval,
+                          @Value("${search.suggest.max-titles}") int maxTitles) {
+        this.postRepository = postRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.rebuildDelay = rebuildDelay;
+        this.minInterval = minInterval;
+        this.maxTitles = maxTitles;
+        this.lastRebuildFinished = System.nanoTime() - minInterval.toNanos();
+    }
+
+    public List<TitleSuggestionResponse> suggest(String prefix, int limit) {
+        return trie.suggest(prefix, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void open() {
+        scheduleRebuild(Duration.ZERO);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        scheduleRebuild(rebuildDelay);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsPurged(PostsPurgedEvent event) {
+        scheduleRebuild(rebuildDelay);
+    }
+
+    // Changes arriving while a rebuild is pending share it, so a burst of writes costs one rebuild
+    private void scheduleRebuild(Duration delay) {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuilder.schedule(this::rebuild, delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void rebuild() {
+        // Counted from the end of the last rebuild, so a rebuild slower than the delay cannot run back to back
+        long wait = minInterval.toNanos() - (System.nanoTime() - lastRebuildFinished);
+        if (wait > 0) {
+            rebuilder.schedule(this::rebuild, wait, TimeUnit.NANOSECONDS);
+            return;
+        }
+        // Cleared before reading so changes committed during the read trigger another rebuild
+        rebuildScheduled.set(false);
+        long started = System.nanoTime();
+        try {
+            TitleTrie.Builder builder = TitleTrie.builder();
+            // Stays on the primary, a title missed through replica lag would not trigger another rebuild
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<PostRepository.TitleView> titles = postRepository.streamNewestTitles(Limit.of(maxTitles))) {
+                    titles.forEach(title -> builder.add(title.getId(), title.getTitle()));
+                }
+            });
+            trie = builder.build();
+            log.debug("Title suggestions rebuilt: {} titles in {} ms", trie.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Rebuilding title suggestions failed, keeping the previous ones", e);
+        } finally {
+            lastRebuildFinished = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        rebuilder.shutdownNow();
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * @ (#) TitleTrie.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.search;
+/*
+ * @description: Immutable prefix index over normalized post titles with precomputed top-k per branch
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import vn.edu.iuh.fit.backend.dto.response.TitleSuggestionResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Titles are stored sorted by normalized key in packed UTF-8 arrays, which is the trie flattened in
+// depth-first order: a prefix is a contiguous range found by binary search. Branches covering more
+// than SCAN_LIMIT titles keep their top-k, smaller ranges are ranked by scanning them.
+// Memory is about the two title encodings plus 20 bytes per title.
+public final class TitleTrie {
+    public static final int TOP_K = 10;
+    public static final TitleTrie EMPTY = new Builder().build();
+
+    private static final int SCAN_LIMIT = 256;
+    private static final int MAX_TITLE_LENGTH = 100;
+
+    private final byte[] keys;
+    private final int[] keyOffsets;
+    private final byte[] titles;
+    private final int[] titleOffsets;
+    // Newer posts rank first, the id doubles as the score
+    private final long[] postIds;
+    private final Map<Long, int[]> topByRange = new HashMap<>();
+
+    private TitleTrie(byte[] keys, int[] keyOffsets, byte[] titles, int[] titleOffsets, long[] postIds) {
+        this.keys = keys;
+        this.keyOffsets = keyOffsets;
+        this.titles = titles;
+        this.titleOffsets = titleOffsets;
+        this.postIds = postIds;
+        if (postIds.length > 0) {
+            collect(0, postIds.length, 0);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return postIds.length;
+    }
+
+    public List<TitleSuggestionResponse> suggest(String prefix, int limit) {
+        byte[] key = normalize(prefix, true).getBytes(StandardCharsets.UTF_8);
+        if (key.length == 0) {
+            return List.of();
+        }
+
+        int lo = lowerBound(key);
+        int hi = lo;
+        for (int low = lo, high = postIds.length; low < high; ) {
+            int mid = (low + high) >>> 1;
+            if (startsWith(mid, key)) {
+                hi = mid + 1;
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (lo == hi) {
+            return List.of();
+        }
+
+        int[] top = hi - lo > SCAN_LIMIT ? topByRange.get(range(lo, hi)) : null;
+        if (top == null) {
+            top = scanTop(lo, hi);
+        }
+        List<TitleSuggestionResponse> suggestions = new ArrayList<>(Math.min(limit, top.length));
+        for (int i = 0; i < top.length && i < limit; i++) {
+            int entry = top[i];
+            suggestions.add(new TitleSuggestionResponse(postIds[entry], new String(titles, titleOffsets[entry],
+                    titleOffsets[entry + 1] - titleOffsets[entry], StandardCharsets.UTF_8)));
+        }
+        return suggestions;
+    }
+
+    // Folded lower case with every run of separators collapsed to one space
+    static String normalize(String text, boolean keepTrailingSpace) {
+        String folded = TextAnalyzer.fold(text);
+        StringBuilder key = new StringBuilder(folded.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && !key.isEmpty()) {
+                    key.append(' ');
+                }
+                key.append(c);
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        // "ha " should not suggest "hanh", a prefix ending in a separator asks for the next word
+        if (keepTrailingSpace && pendingSpace && !key.isEmpty()) {
+            key.append(' ');
+        }
+        return key.toString();
+    }
+
+    // Top-k of every branch larger than SCAN_LIMIT, built bottom-up from its children
+    private int[] collect(int lo, int hi, int depth) {
+        if (hi - lo <= SCAN_LIMIT) {
+            return scanTop(lo, hi);
+        }
+        // Keys are sorted, so the common prefix of the first and last key is shared by the whole range
+        int branchDepth = depth;
+        int first = keyOffsets[lo];
+        int last = keyOffsets[hi - 1];
+        int limit = Math.min(keyLength(lo), keyLength(hi - 1));
+        while (branchDepth < limit && keys[first + branchDepth] == keys[last + branchDepth]) {
+            branchDepth++;
+        }
+
+        List<int[]> children = new ArrayList<>();
+        int start = lo;
+        if (keyLength(start) == branchDepth) {
+            children.add(new int[]{start++});
+        }
+        while (start < hi) {
+            byte label = keys[keyOffsets[start] + branchDepth];
+            int end = start + 1;
+            while (end < hi && keys[keyOffsets[end] + branchDepth] == label) {
+                end++;
+            }
+            children.add(collect(start, end, branchDepth + 1));
+            start = end;
+        }
+
+        int[] top = best(children.stream().flatMapToInt(Arrays::stream).toArray());
+        topByRange.put(range(lo, hi), top);
+        return top;
+    }
+
+    private int[] scanTop(int lo, int hi) {
+        int[] entries = new int[hi - lo];
+        for (int i = lo; i < hi; i++) {
+            entries[i - lo] = i;
+        }
+        return best(entries);
+    }
+
+    private int[] best(int[] entries) {
+        return Arrays.stream(entries)
+                .boxed()
+                .sorted((a, b) -> Long.compare(postIds[b], postIds[a]))
+                .limit(TOP_K)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private int lowerBound(byte[] key) {
+        int low = 0;
+        int high = postIds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Arrays.compareUnsigned(keys, keyOffsets[mid], keyOffsets[mid + 1], key, 0, key.length) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private boolean startsWith(int entry, byte[] key) {
+        int from = keyOffsets[entry];
+        return keyLength(entry) >= key.length && Arrays.equals(keys, from, from + key.length, key, 0, key.length);
+    }
+
+    private int keyLength(int entry) {
+        return keyOffsets[entry + 1] - keyOffsets[entry];
+    }
+
+    private static long range(int lo, int hi) {
+        return ((long) lo << 32) | hi;
+    }
+
+    // Collects titles in any order; build() sorts them and keeps the newest post per normalized title
+    public static final class Builder {
+        private final Packed keys = new Packed();
+        private final Packed titles = new Packed();
+        private long[] postIds = new long[1024];
+        private int size;
+
+        public Builder add(long postId, String title) {
+            if (title == null) {
+                return this;
+            }
+            String display = title.length() > MAX_TITLE_LENGTH ? title.substring(0, MAX_TITLE_LENGTH) : title;
+            String key = normalize(display, false);
+            if (key.isEmpty()) {
+                return this;
+            }
+            keys.add(key.getBytes(StandardCharsets.UTF_8));
+            titles.add(display.getBytes(StandardCharsets.UTF_8));
+            if (size == postIds.length) {
+                postIds = Arrays.copyOf(postIds, size * 2);
+            }
+            postIds[size++] = postId;
+            return this;
+        }
+
+        public TitleTrie build() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> {
+                int byKey = Arrays.compareUnsigned(keys.bytes, keys.offsets.get(a), keys.offsets.get(a + 1),
+                        keys.bytes, keys.offsets.get(b), keys.offsets.get(b + 1));
+                return byKey != 0 ? byKey : Long.compare(postIds[b], postIds[a]);
+            });
+
+            Packed sortedKeys = new Packed();
+            Packed sortedTitles = new Packed();
+            long[] sortedIds = new long[size];
+            int count = 0;
+            int previous = -1;
+            for (int entry : order) {
+                if (previous >= 0 && keys.sameAs(previous, entry)) {
+                    continue;
+                }
+                sortedKeys.copyFrom(keys, entry);
+                sortedTitles.copyFrom(titles, entry);
+                sortedIds[count++] = postIds[entry];
+                previous = entry;
+            }
+            return new TitleTrie(sortedKeys.trimmedBytes(), sortedKeys.offsetArray(), sortedTitles.trimmedBytes(),
+                    sortedTitles.offsetArray(), Arrays.copyOf(sortedIds, count));
+        }
+    }
+
+    // Byte strings appended back to back, offsets has one more element than there are strings
+    private static final class Packed {
+        private byte[] bytes = new byte[4096];
+        private int length;
+        private final IntList offsets = new IntList();
+
+        Packed() {
+            offsets.add(0);
+        }
+
+        void add(byte[] value) {
+            append(value, 0, value.length);
+        }
+
+        void copyFrom(Packed source, int index) {
+            int from = source.offsets.get(index);
+            append(source.bytes, from, source.offsets.get(index + 1) - from);
+        }
+
+        boolean sameAs(int a, int b) {
+            return Arrays.equals(bytes, offsets.get(a), offsets.get(a + 1), bytes, offsets.get(b), offsets.get(b + 1));
+        }
+
+        private void append(byte[] value, int from, int count) {
+            if (length + count > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + count));
+            }
+            System.arraycopy(value, from, bytes, length, count);
+            length += count;
+            offsets.add(length);
+        }
+
+        byte[] trimmedBytes() {
+            return Arrays.copyOf(bytes, length);
+        }
+
+        int[] offsetArray() {
+            int[] values = new int[offsets.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = offsets.get(i);
+            }
+            return values;
+        }
+    }
+}
@@ -26,7 +26,10 @@ public class Endpoints {
             "/swagger-ui/**",
             "/swagger-ui.html",
             "/webjars/**",
-            "/error"
+            "/error",
+            // Only reachable on the management port
+            "/actuator/health",
+            "/actuator/prometheus"
     };
 
     public static final String[] PUBLIC_POST_ENDPOINTS = {
@@ -37,6 +40,12 @@ public class Endpoints {
     public static final String[] ADMIN_GET_ENDPOINTS = {
             "/api/users",
             "/api/users/**",
+            "/api/admin/**",
+            "/api/posts/export",
+    };
+
+    public static final String[] ADMIN_POST_ENDPOINTS = {
+            "/api/posts/bulk",
     };
 
     public static final String[] ADMIN_DELETE_ENDPOINTS = {
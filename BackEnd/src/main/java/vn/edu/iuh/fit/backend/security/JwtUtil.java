@@ -12,23 +12,39 @@ package vn.edu.iuh.fit.backend.security;
  * @version:    1.0
  */
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import vn.edu.iuh.fit.backend.cache.MonitoredCache;
+import vn.edu.iuh.fit.backend.dto.response.CacheStatsResponse;
 import vn.edu.iuh.fit.backend.model.Role;
 import vn.edu.iuh.fit.backend.model.User;
 import vn.edu.iuh.fit.backend.service.UserService;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.*;
-import java.util.function.Function;
 
 @Service
-public class JwtUtil {
+public class JwtUtil implements MonitoredCache {
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLES = "roles";
+    static final String CLAIM_EPOCH = "epoch";
+
     @Value("${jwt.secret}")
     private String SECRET_KEY;
     private final UserService userService;
@@ -36,29 +52,59 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private long expiration;
 
+    @Value("${jwt.verified-token-cache.max-size}")
+    private long verifiedTokenCacheSize;
+
+    // Built once at startup instead of on every sign/verify call
+    private SecretKey secretKey;
+    private JwtParser jwtParser;
+
+    // Recently verified tokens keyed by SHA-256 digest, each entry expires at the token's exp
+    private Cache<String, Claims> verifiedTokens;
+
     public JwtUtil(UserService userService) {
         this.userService = userService;
     }
 
+    @PostConstruct
+    void init() {
+        secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+        jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfter(Expiry.creating((String digest, Claims claims) ->
+                        Duration.ofMillis(Math.max(0, claims.getExpiration().getTime() - System.currentTimeMillis()))))
+                .recordStats()
+                .build();
+    }
+
     public String generateToken(String username) {
+        return generateToken(userService.findByUsername(username));
+    }
+
+    // Callers that already hold the user (login) skip the lookup
+    public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
-        User user = userService.findByUsername(username);
         boolean isAdmin = false;
         boolean isUser = false;
-        if (user != null && !user.getRoles().isEmpty()){
-            Set<Role> roles = user.getRoles();
-            for (Role role : roles) {
-                if (role.getRoleName().equals("ROLE_ADMIN")) {
-                    isAdmin = true;
-                }
-                if (role.getRoleName().equals("ROLE_USER")) {
-                    isUser = true;
-                }
+        Set<Role> roles = user.getRoles();
+        for (Role role : roles) {
+            if (role.getRoleName().equals("ROLE_ADMIN")) {
+                isAdmin = true;
+            }
+            if (role.getRoleName().equals("ROLE_USER")) {
+                isUser = true;
             }
         }
         claims.put("isAdmin", isAdmin);
         claims.put("isUser", isUser);
-        return createToken(claims, username);
+        // Enough for stateless mode to build the principal without touching the database
+        claims.put(CLAIM_USER_ID, user.getUserId());
+        claims.put(CLAIM_ROLES, roles.stream().map(Role::getRoleName).sorted().toList());
+        claims.put(CLAIM_EPOCH, user.getSecurityEpoch());
+        return createToken(claims, user.getUsername());
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
@@ -67,47 +113,74 @@ public class JwtUtil {
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * expiration))
-                .signWith(getSecretKey())
+                .signWith(secretKey)
                 .compact();
     }
 
-    // Get secret key
-    private SecretKey getSecretKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // Verify the signature once and return the claims, callers read everything they need from them
+    public Claims parseClaims(String token) {
+        String digest = digest(token);
+        Claims claims = verifiedTokens.getIfPresent(digest);
+        if (claims == null) {
+            claims = verifyClaims(token);
+            verifiedTokens.put(digest, claims);
+        }
+        return claims;
+    }
+
+    // Full signature verification, bypassing the verified-token cache
+    Claims verifyClaims(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return parseClaims(token).getSubject();
     }
 
     // Get expiration
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return parseClaims(token).getExpiration();
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimResolver.apply(claims);
+    // Valid token
+    public Boolean validateToken(String token, UserDetails userDetails) {
+        return validateToken(parseClaims(token), userDetails);
     }
 
-    // Extract claims
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    // Validate already verified claims without parsing the token again
+    public boolean validateToken(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && claims.getExpiration().after(new Date());
     }
 
-    // Check expiration token
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    // Principal carried by the token itself, null for tokens issued before the stateless claims existed
+    public JwtPrincipal principalOf(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        List<?> roles = claims.get(CLAIM_ROLES, List.class);
+        if (userId == null || roles == null) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = roles.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority(role.toString()))
+                .toList();
+        return new JwtPrincipal(userId.longValue(), claims.getSubject(), authorities);
     }
 
-    // Valid token
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    public int epochOf(Claims claims) {
+        Number epoch = claims.get(CLAIM_EPOCH, Number.class);
+        return epoch == null ? 0 : epoch.intValue();
+    }
+
+    @Override
+    public CacheStatsResponse stats() {
+        return CacheStatsResponse.of("verified-tokens", verifiedTokens.estimatedSize(), verifiedTokens.stats());
     }
 }
@@ -0,0 +1,81 @@
+/*
+ * @ (#) LoginAttemptLimiter.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.security;
+/*
+ * @description: Counts recent login failures per username and per client IP to refuse guessing before any BCrypt work
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import vn.edu.iuh.fit.backend.cache.MonitoredCache;
+import vn.edu.iuh.fit.backend.dto.response.CacheStatsResponse;
+import vn.edu.iuh.fit.backend.exception.TooManyRequestsException;
+
+import java.time.Duration;
+import java.util.Locale;
+
+@Component
+public class LoginAttemptLimiter implements MonitoredCache {
+    private static final long MAX_TRACKED_KEYS = 100_000;
+
+    private final int maxFailuresPerUsername;
+    private final int maxFailuresPerIp;
+
+    // Each failure rewrites the entry, so a key is released one window after its last failure
+    private final Cache<String, Integer> failures;
+
+    public LoginAttemptLimiter(@Value("${security.login.max-failures-per-username}") int maxFailuresPerUsername,
+                               @Value("${security.login.max-failures-per-ip}") int maxFailuresPerIp,
+                               @Value("${security.login.failure-window}") Duration failureWindow) {
+        this.maxFailuresPerUsername = maxFailuresPerUsername;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.failures = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_KEYS)
+                .expireAfterWrite(failureWindow)
+                .recordStats()
+                .build();
+    }
+
+    public void checkAllowed(String username, String clientIp) {
+        if (count(usernameKey(username)) >= maxFailuresPerUsername || count(ipKey(clientIp)) >= maxFailuresPerIp) {
+            throw new TooManyRequestsException("Đăng nhập sai quá nhiều lần, vui lòng thử lại sau.");
+        }
+    }
+
+    public void recordFailure(String username, String clientIp) {
+        failures.asMap().merge(usernameKey(username), 1, Integer::sum);
+        failures.asMap().merge(ipKey(clientIp), 1, Integer::sum);
+    }
+
+    // The IP counter is kept, one valid account must not reset guessing against the others
+    public void recordSuccess(String username) {
+        failures.invalidate(usernameKey(username));
+    }
+
+    private int count(String key) {
+        Integer count = failures.getIfPresent(key);
+        return count == null ? 0 : count;
+    }
+
+    private static String usernameKey(String username) {
+        return "user:" + username.toLowerCase(Locale.ROOT);
+    }
+
+    private static String ipKey(String clientIp) {
+        return "ip:" + clientIp;
+    }
+
+    @Override
+    public CacheStatsResponse stats() {
+        return CacheStatsResponse.of("login-failures", failures.estimatedSize(), failures.stats());
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * @ (#) PasswordVerifier.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.security;
+/*
+ * @description: Runs BCrypt checks on a bounded worker pool so login bursts cannot take over request threads
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import vn.edu.iuh.fit.backend.dto.response.ExecutorStatsResponse;
+import vn.edu.iuh.fit.backend.exception.ServiceUnavailableException;
+import vn.edu.iuh.fit.backend.executor.MonitoredExecutor;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class PasswordVerifier implements MonitoredExecutor, DisposableBean {
+    private static final String OVERLOADED = "Hệ thống đang quá tải, vui lòng thử lại sau.";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final Duration timeout;
+    private final LongAdder rejected = new LongAdder();
+    // Queue wait plus hashing, which is what a login actually waits for
+    private final Meter.MeterProvider<Timer> checkTimer;
+
+    // Compared against when the username does not exist, so both paths cost one BCrypt check
+    private final String dummyHash;
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder,
+                            @Value("${security.login.bcrypt-threads}") int threads,
+                            @Value("${security.login.queue-capacity}") int queueCapacity,
+                            @Value("${security.login.timeout}") Duration timeout,
+                            MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.queueCapacity = queueCapacity;
+        this.timeout = timeout;
+        // Fixed size pool with a bounded queue: once both are full new logins are shed immediately
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("bcrypt-"),
+                new ThreadPoolExecutor.AbortPolicy() {
+                    @Override
+                    public void rejectedExecution(Runnable r, ThreadPoolExecutor e) {
+                        rejected.increment();
+                        super.rejectedExecution(r, e);
+                    }
+                });
+        this.dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+        this.checkTimer = Timer.builder("security.bcrypt")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+    }
+
+    // encodedPassword may be null for unknown users, the check then always fails
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        String hash = encodedPassword != null ? encodedPassword : dummyHash;
+        Timer.Sample sample = Timer.start();
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> passwordEncoder.matches(rawPassword, hash));
+        } catch (RejectedExecutionException e) {
+            sample.stop(checkTimer.withTag("outcome", "rejected"));
+            throw new ServiceUnavailableException(OVERLOADED);
+        }
+
+        try {
+            boolean matches = result.get(timeout.toMillis(), TimeUnit.MILLISECONDS) && encodedPassword != null;
+            sample.stop(checkTimer.withTag("outcome", matches ? "match" : "mismatch"));
+            return matches;
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            sample.stop(checkTimer.withTag("outcome", "timeout"));
+            throw new ServiceUnavailableException(OVERLOADED);
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            sample.stop(checkTimer.withTag("outcome", "interrupted"));
+            throw new ServiceUnavailableException(OVERLOADED);
+        } catch (ExecutionException e) {
+            sample.stop(checkTimer.withTag("outcome", "error"));
+            throw new IllegalStateException("Password check failed", e.getCause());
+        }
+    }
+
+    @Override
+    public ExecutorStatsResponse stats() {
+        return new ExecutorStatsResponse("bcrypt", executor.getPoolSize(), executor.getActiveCount(),
+                executor.getQueue().size(), queueCapacity, executor.getCompletedTaskCount(), rejected.sum());
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * @ (#) PrincipalCache.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.security;
+/*
+ * @description: Bounded, TTL-based cache of username -> UserDetails in front of loadUserByUsername
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import vn.edu.iuh.fit.backend.cache.MonitoredCache;
+import vn.edu.iuh.fit.backend.datasource.ReadYourWritesTracker;
+import vn.edu.iuh.fit.backend.dto.response.CacheStatsResponse;
+import vn.edu.iuh.fit.backend.event.UserChangedEvent;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+@Component
+public class PrincipalCache implements MonitoredCache {
+    private final Cache<String, UserDetails> cache;
+    private final ReadYourWritesTracker readYourWrites;
+
+    public PrincipalCache(@Value("${security.principal-cache.max-size}") long maxSize,
+                          @Value("${security.principal-cache.ttl}") Duration ttl,
+                          ReadYourWritesTracker readYourWrites) {
+        this.readYourWrites = readYourWrites;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        // A revoked or deleted account must not be re-cached from a replica that has not seen the change
+        UserDetails details = cache.get(username, name -> readYourWrites.read(() -> loader.apply(name),
+                ReadYourWritesTracker.userKey(name)));
+        // Hand out copies: the authentication manager erases credentials on the instance it returns
+        return User.withUserDetails(details).build();
+    }
+
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+
+    // Evict only after the change is committed so a concurrent request cannot re-cache the old row
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        readYourWrites.markWritten(ReadYourWritesTracker.userKey(event.username()));
+        evict(event.username());
+    }
+
+    @Override
+    public CacheStatsResponse stats() {
+        return CacheStatsResponse.of("principals", cache.estimatedSize(), cache.stats());
+    }
+}
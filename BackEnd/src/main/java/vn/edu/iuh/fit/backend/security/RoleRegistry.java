@@ -0,0 +1,37 @@
+/*
+ * @ (#) RoleRegistry.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.security;
+/*
+ * @description: Immutable view of the seeded roles, resolved once at startup by DataInitializer
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import org.springframework.stereotype.Component;
+import vn.edu.iuh.fit.backend.model.Role;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class RoleRegistry {
+    // Detached entities keyed by role name, replaced as a whole and never mutated
+    private volatile Map<String, Role> roles = Map.of();
+
+    public void load(Collection<Role> seededRoles) {
+        roles = seededRoles.stream()
+                .collect(Collectors.toUnmodifiableMap(Role::getRoleName, Function.identity()));
+    }
+
+    public Optional<Role> find(String roleName) {
+        return Optional.ofNullable(roles.get(roleName));
+    }
+}
@@ -15,6 +15,7 @@ package vn.edu.iuh.fit.backend.security;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -66,6 +67,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, Endpoints.PUBLIC_POST_ENDPOINTS).permitAll()
                         .requestMatchers(HttpMethod.GET, Endpoints.USER_GET_ENDPOINTS).hasAnyRole("ADMIN", "USER")
                         .requestMatchers(HttpMethod.GET, Endpoints.ADMIN_GET_ENDPOINTS).hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, Endpoints.ADMIN_POST_ENDPOINTS).hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, Endpoints.ADMIN_DELETE_ENDPOINTS).hasRole("ADMIN")
                         .anyRequest().authenticated()
         );
@@ -78,6 +80,9 @@ public class SecurityConfig {
                 config.addAllowedOrigin(frontEndHost);
                 config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE"));
                 config.addAllowedHeader("*");
+                // Lets the browser client read validators for conditional requests
+                config.addExposedHeader(HttpHeaders.ETAG);
+                config.addExposedHeader(HttpHeaders.LAST_MODIFIED);
                 return config;
             });
         });
@@ -0,0 +1,69 @@
+/*
+ * @ (#) SecurityEpochRegistry.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.security;
+/*
+ * @description: In-memory table of per-user security epochs used to revoke issued tokens
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import vn.edu.iuh.fit.backend.event.UserChangedEvent;
+import vn.edu.iuh.fit.backend.repository.UserPurgeRepository;
+import vn.edu.iuh.fit.backend.repository.UserRepository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class SecurityEpochRegistry {
+    // A deleted user keeps no row, so every epoch their tokens could carry is treated as stale
+    private static final int REVOKED = Integer.MAX_VALUE;
+
+    private final UserRepository userRepository;
+    private final UserPurgeRepository userPurgeRepository;
+
+    // Only users whose epoch was ever raised are stored, a missing entry means epoch 0
+    private final Map<Long, Integer> epochs = new ConcurrentHashMap<>();
+
+    public SecurityEpochRegistry(UserRepository userRepository, UserPurgeRepository userPurgeRepository) {
+        this.userRepository = userRepository;
+        this.userPurgeRepository = userPurgeRepository;
+    }
+
+    public int currentEpoch(Long userId) {
+        return epochs.getOrDefault(userId, 0);
+    }
+
+    public boolean isCurrent(Long userId, int epoch) {
+        return epoch >= currentEpoch(userId);
+    }
+
+    // Load at startup and re-sync periodically so epochs bumped on another instance are picked up
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.epoch-refresh-interval}", initialDelayString = "${jwt.epoch-refresh-interval}")
+    public void reload() {
+        // Deleted users outlive their row only in user_purges, their tokens must stay revoked across restarts
+        for (Long userId : userPurgeRepository.findAllUserIds()) {
+            epochs.put(userId, REVOKED);
+        }
+        for (UserRepository.SecurityEpochView view : userRepository.findRaisedSecurityEpochs()) {
+            epochs.merge(view.getUserId(), view.getSecurityEpoch(), Math::max);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        int epoch = userRepository.findSecurityEpochByUserId(event.userId()).orElse(REVOKED);
+        epochs.merge(event.userId(), epoch, Math::max);
+    }
+}
@@ -19,5 +19,5 @@ import vn.edu.iuh.fit.backend.dto.response.RegisterResponse;
 
 public interface AuthService {
     RegisterResponse registerNewUser(RegisterRequest request);
-    JwtResponse login(LoginRequest request);
+    JwtResponse login(LoginRequest request, String clientIp);
 }
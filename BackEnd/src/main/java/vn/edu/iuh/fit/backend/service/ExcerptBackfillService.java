@@ -0,0 +1,22 @@
+/*
+ * @ (#) ExcerptBackfillService.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.service;
+/*
+ * @description: 
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import java.util.Optional;
+
+public interface ExcerptBackfillService {
+    Optional<Long> findMaxPostId();
+
+    // Fills the missing excerpts of posts with afterId < id <= toId, returns how many were written
+    int backfillRange(long afterId, long toId);
+}
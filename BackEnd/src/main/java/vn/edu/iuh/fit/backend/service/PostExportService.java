@@ -0,0 +1,23 @@
+/*
+ * @ (#) PostExportService.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.service;
+/*
+ * @description: 
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface PostExportService {
+    enum Format { NDJSON, CSV }
+
+    // Writes every post to the output row by row, memory use does not grow with the number of posts
+    void exportPosts(Format format, OutputStream output) throws IOException;
+}
@@ -0,0 +1,22 @@
+/*
+ * @ (#) PostImportService.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.service;
+/*
+ * @description: 
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface PostImportService {
+    // Reads BulkPostRequest lines and writes one BulkPostResult line per item, then a BulkImportSummary
+    void importPosts(InputStream input, OutputStream output) throws IOException;
+}
@@ -16,11 +16,25 @@ import vn.edu.iuh.fit.backend.dto.request.CreatePostRequest;
 import vn.edu.iuh.fit.backend.dto.request.UpdatePostRequest;
 import vn.edu.iuh.fit.backend.dto.response.PaginatedPostsResponse;
 import vn.edu.iuh.fit.backend.dto.response.PostResponse;
+import vn.edu.iuh.fit.backend.dto.response.PostSummaryResponse;
+import vn.edu.iuh.fit.backend.dto.response.PostVersion;
+import vn.edu.iuh.fit.backend.dto.response.TitleSuggestionResponse;
+
+import java.util.Date;
+import java.util.List;
 
 public interface PostService {
     PostResponse createPost(CreatePostRequest postRequest);
     PostResponse updatePost(Long postId, UpdatePostRequest postDetails);
-    PaginatedPostsResponse getAllPosts(int page, int size, String sortBy, String direction, boolean myPosts);
+    PaginatedPostsResponse<PostResponse> getAllPosts(int page, int size, String sortBy, String direction, boolean myPosts, boolean includeTotal);
+    PaginatedPostsResponse<PostSummaryResponse> getPostSummaries(int page, int size, String sortBy, String direction, boolean myPosts, boolean includeTotal);
+    PaginatedPostsResponse<PostResponse> getPostsByCursor(String after, String before, int size, String direction, boolean myPosts);
+    PaginatedPostsResponse<PostSummaryResponse> getPostSummariesByCursor(String after, String before, int size, String direction, boolean myPosts);
+    PaginatedPostsResponse<PostVersion> getPostVersions(int page, int size, String sortBy, String direction, boolean myPosts, boolean includeTotal);
+    PaginatedPostsResponse<PostVersion> getPostVersionsByCursor(String after, String before, int size, String direction, boolean myPosts);
+    PaginatedPostsResponse<PostSummaryResponse> searchPosts(String query, int page, int size);
+    List<TitleSuggestionResponse> suggestTitles(String prefix, int limit);
     PostResponse getPostById(Long postId);
+    Date getPostVersion(Long postId);
     void deletePost(Long postId);
 }
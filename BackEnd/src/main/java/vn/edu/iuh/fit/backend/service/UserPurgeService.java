@@ -0,0 +1,22 @@
+/*
+ * @ (#) UserPurgeService.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.service;
+/*
+ * @description: 
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import java.util.List;
+
+public interface UserPurgeService {
+    List<Long> findPendingUserIds();
+
+    // Deletes one bounded chunk of the user's posts, returns true once the user row itself is gone
+    boolean purgeNextChunk(Long userId);
+}
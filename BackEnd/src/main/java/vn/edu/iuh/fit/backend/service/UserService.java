@@ -13,15 +13,17 @@ package vn.edu.iuh.fit.backend.service;
  */
 
 import org.springframework.security.core.userdetails.UserDetailsService;
+import vn.edu.iuh.fit.backend.dto.response.PaginatedUsersResponse;
+import vn.edu.iuh.fit.backend.dto.response.UserPurgeResponse;
 import vn.edu.iuh.fit.backend.dto.response.UserResponse;
 import vn.edu.iuh.fit.backend.model.User;
 
-import java.util.List;
-
 public interface UserService extends UserDetailsService {
     User findByUsername(String username);
-    List<UserResponse> getAllUsers();
+    PaginatedUsersResponse getUsers(int page, int size, Long after, String query, String role);
     UserResponse getUserById(Long id);
     UserResponse getCurrentUser();
     void deleteUser(Long id);
+    UserPurgeResponse getPurgeStatus(Long id);
+    void revokeTokens(Long id);
 }
@@ -13,12 +13,11 @@ package vn.edu.iuh.fit.backend.service.impl;
  */
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import vn.edu.iuh.fit.backend.dto.request.LoginRequest;
 import vn.edu.iuh.fit.backend.dto.request.RegisterRequest;
 import vn.edu.iuh.fit.backend.dto.response.JwtResponse;
@@ -28,12 +27,14 @@ import vn.edu.iuh.fit.backend.exception.CredentialAlreadyExistException;
 import vn.edu.iuh.fit.backend.exception.InvalidCredentialException;
 import vn.edu.iuh.fit.backend.model.Role;
 import vn.edu.iuh.fit.backend.model.User;
-import vn.edu.iuh.fit.backend.repository.RoleRepository;
 import vn.edu.iuh.fit.backend.repository.UserRepository;
 import vn.edu.iuh.fit.backend.security.JwtUtil;
+import vn.edu.iuh.fit.backend.security.LoginAttemptLimiter;
+import vn.edu.iuh.fit.backend.security.PasswordVerifier;
+import vn.edu.iuh.fit.backend.security.RoleRegistry;
 import vn.edu.iuh.fit.backend.service.AuthService;
-import vn.edu.iuh.fit.backend.service.UserService;
 
+import java.util.Locale;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -42,21 +43,16 @@ import java.util.stream.Collectors;
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
-    private final UserService userService;
+    private final PasswordVerifier passwordVerifier;
+    private final LoginAttemptLimiter loginAttemptLimiter;
     private final JwtUtil jwtUtil;
 
+    // BCrypt runs before the first statement, the connection is only checked out for the insert
     @Override
+    @Transactional
     public RegisterResponse registerNewUser(RegisterRequest request) {
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new CredentialAlreadyExistException("Tên tài khoản đã tồn tại!");
-        }
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new CredentialAlreadyExistException("Email đã tồn tại!");
-        }
-
         // Create new User
         User user = new User();
         user.setUsername(request.getUsername());
@@ -66,12 +62,24 @@ public class AuthServiceImpl implements AuthService {
         user.setGender(request.getGender());
         user.setPassword(passwordEncoder.encode(request.getPassword()));
 
-        Role userRole = roleRepository.findByRoleName("ROLE_USER")
+        Role userRole = roleRegistry.find("ROLE_USER")
                 .orElseThrow(() -> new BadRequestException("Không tìm thấy role mặc định"));
         user.setRoles(Set.of(userRole));
 
-        // 4. Save user to DB
-        User savedUser = userRepository.save(user);
+        // Single insert, duplicates are detected by the unique keys instead of racy exists checks
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            String constraint = violatedConstraint(e);
+            if (constraint.contains(User.UK_USERNAME)) {
+                throw new CredentialAlreadyExistException("Tên tài khoản đã tồn tại!");
+            }
+            if (constraint.contains(User.UK_EMAIL)) {
+                throw new CredentialAlreadyExistException("Email đã tồn tại!");
+            }
+            throw e;
+        }
 
         return new RegisterResponse(
                 savedUser.getUserId(),
@@ -86,18 +94,36 @@ public class AuthServiceImpl implements AuthService {
         );
     }
 
+    private static String violatedConstraint(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT);
+            }
+        }
+        return "";
+    }
+
+    // Deliberately no @Transactional, not even NOT_SUPPORTED: any transaction scope binds one
+    // EntityManager for the whole method, and its connection would be held through the BCrypt check.
+    // Without one the lookup gets its own EntityManager and returns the connection right away.
     @Override
-    public JwtResponse login(LoginRequest request) {
-        try {
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-            );
-        } catch (AuthenticationException e) {
+    public JwtResponse login(LoginRequest request, String clientIp) {
+        if (request.getUsername() == null || request.getPassword() == null) {
             throw new InvalidCredentialException("Tài khooản hoặc mật khẩu không chính xác!");
         }
+        // Refused before any database or BCrypt work
+        loginAttemptLimiter.checkAllowed(request.getUsername(), clientIp);
 
-        UserDetails userDetails = userService.loadUserByUsername(request.getUsername());
+        // The only user lookup of the login, reused for the password check and the token claims
+        User user = userRepository.findWithRolesByUsername(request.getUsername())
+                .filter(u -> u.getDeletedAt() == null)
+                .orElse(null);
+        if (!passwordVerifier.matches(request.getPassword(), user == null ? null : user.getPassword())) {
+            loginAttemptLimiter.recordFailure(request.getUsername(), clientIp);
+            throw new InvalidCredentialException("Tài khooản hoặc mật khẩu không chính xác!");
+        }
+        loginAttemptLimiter.recordSuccess(request.getUsername());
 
-        return new JwtResponse(jwtUtil.generateToken(userDetails.getUsername()));
+        return new JwtResponse(jwtUtil.generateToken(user));
     }
 }
@@ -0,0 +1,46 @@
+/*
+ * @ (#) ExcerptBackfillServiceImpl.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.service.impl;
+/*
+ * @description: 
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import vn.edu.iuh.fit.backend.repository.PostRepository;
+import vn.edu.iuh.fit.backend.repository.PostRepository.ContentView;
+import vn.edu.iuh.fit.backend.service.ExcerptBackfillService;
+import vn.edu.iuh.fit.backend.util.ExcerptUtil;
+
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class ExcerptBackfillServiceImpl implements ExcerptBackfillService {
+
+    private final PostRepository postRepository;
+
+    @Override
+    public Optional<Long> findMaxPostId() {
+        return postRepository.findMaxId();
+    }
+
+    // Same ExcerptUtil output as on create and update, one short transaction per range
+    @Override
+    @Transactional
+    public int backfillRange(long afterId, long toId) {
+        int written = 0;
+        for (ContentView row : postRepository.findMissingExcerpts(afterId, toId)) {
+            written += postRepository.updateExcerpt(row.getId(), ExcerptUtil.excerptOf(row.getContent()));
+        }
+        return written;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * @ (#) PostExportServiceImpl.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.service.impl;
+/*
+ * @description: Streams all posts as NDJSON or CSV from a forward-only database cursor
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import vn.edu.iuh.fit.backend.dto.response.PostResponse;
+import vn.edu.iuh.fit.backend.repository.PostProjection;
+import vn.edu.iuh.fit.backend.repository.PostRepository;
+import vn.edu.iuh.fit.backend.service.PostExportService;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class PostExportServiceImpl implements PostExportService {
+    private static final String CSV_HEADER = "id,title,content,authorId,authorUsername,createdAt,updatedAt";
+
+    private final PostRepository postRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${post.export.fetch-size}")
+    private int fetchSize;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportPosts(Format format, OutputStream output) throws IOException {
+        try (Stream<PostResponse> posts = postRepository.streamAll(PostProjection.FULL, fetchSize)) {
+            Iterator<PostResponse> rows = posts.iterator();
+            if (format == Format.CSV) {
+                writeCsv(rows, output);
+            } else {
+                writeNdjson(rows, output);
+            }
+        }
+    }
+
+    private void writeNdjson(Iterator<PostResponse> rows, OutputStream output) throws IOException {
+        // One generator for the whole export, flushed by its own buffer instead of after every row
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            while (rows.hasNext()) {
+                writer.writeValue(generator, rows.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<PostResponse> rows, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        while (rows.hasNext()) {
+            PostResponse post = rows.next();
+            writer.write(String.valueOf(post.getId()));
+            writer.write(',');
+            writer.write(csvField(post.getTitle()));
+            writer.write(',');
+            writer.write(csvField(post.getContent()));
+            writer.write(',');
+            writer.write(String.valueOf(post.getAuthor().getId()));
+            writer.write(',');
+            writer.write(csvField(post.getAuthor().getUsername()));
+            writer.write(',');
+            writer.write(isoDate(post.getCreatedAt()));
+            writer.write(',');
+            writer.write(isoDate(post.getUpdatedAt()));
+            writer.write("\r\n");
+        }
+        writer.flush();
+    }
+
+    // RFC 4180 quoting, only when the value needs it
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String isoDate(Date date) {
+        return date == null ? "" : date.toInstant().toString();
+    }
+}
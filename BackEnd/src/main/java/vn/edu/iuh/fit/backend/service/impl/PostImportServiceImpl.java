@@ -0,0 +1,211 @@
+/*
+ * @ (#) PostImportServiceImpl.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.service.impl;
+/*
+ * @description: Streams NDJSON posts into the database in JDBC batched chunks
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import vn.edu.iuh.fit.backend.dto.request.BulkPostRequest;
+import vn.edu.iuh.fit.backend.dto.response.BulkImportSummary;
+import vn.edu.iuh.fit.backend.dto.response.BulkPostResult;
+import vn.edu.iuh.fit.backend.event.PostChangedEvent;
+import vn.edu.iuh.fit.backend.model.PostCounter;
+import vn.edu.iuh.fit.backend.repository.PostBatchRepository;
+import vn.edu.iuh.fit.backend.repository.PostBatchRepository.PostRow;
+import vn.edu.iuh.fit.backend.repository.PostCounterRepository;
+import vn.edu.iuh.fit.backend.repository.UserRepository;
+import vn.edu.iuh.fit.backend.service.PostImportService;
+import vn.edu.iuh.fit.backend.util.ExcerptUtil;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostImportServiceImpl implements PostImportService {
+    private static final int MAX_TITLE_LENGTH = 255;
+    // MySQL TEXT holds 64KB, counted in bytes of the UTF-8 encoding
+    private static final int MAX_CONTENT_BYTES = 65_535;
+
+    private final PostBatchRepository postBatchRepository;
+    private final UserRepository userRepository;
+    private final PostCounterRepository postCounterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${post.bulk.chunk-size}")
+    private int chunkSize;
+
+    private record Line(int number, String json) {
+    }
+
+    @Override
+    public void importPosts(InputStream input, OutputStream output) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        long started = System.nanoTime();
+        long created = 0;
+        long failed = 0;
+
+        List<Line> chunk = new ArrayList<>(chunkSize);
+        int number = 0;
+        String json;
+        while (true) {
+            json = reader.readLine();
+            if (json != null) {
+                number++;
+                if (!json.isBlank()) {
+                    chunk.add(new Line(number, json));
+                }
+            }
+            if (chunk.size() == chunkSize || (json == null && !chunk.isEmpty())) {
+                for (BulkPostResult result : importChunk(chunk)) {
+                    if (result.getStatus() == BulkPostResult.Status.CREATED) {
+                        created++;
+                    } else {
+                        failed++;
+                    }
+                    writeLine(writer, result);
+                }
+                // Results reach the client chunk by chunk instead of after the whole upload
+                writer.flush();
+                chunk.clear();
+            }
+            if (json == null) {
+                break;
+            }
+        }
+
+        long elapsedMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        writeLine(writer, new BulkImportSummary(created, failed, elapsedMs, created * 1000 / elapsedMs));
+        writer.flush();
+    }
+
+    private List<BulkPostResult> importChunk(List<Line> lines) {
+        BulkPostResult[] results = new BulkPostResult[lines.size()];
+        BulkPostRequest[] requests = new BulkPostRequest[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            Line line = lines.get(i);
+            try {
+                requests[i] = objectMapper.readValue(line.json(), BulkPostRequest.class);
+                String error = validate(requests[i]);
+                if (error != null) {
+                    results[i] = BulkPostResult.failed(line.number(), error);
+                }
+            } catch (JsonProcessingException e) {
+                results[i] = BulkPostResult.failed(line.number(), "Dòng không phải JSON hợp lệ.");
+            }
+        }
+
+        // One author lookup for the whole chunk
+        Set<String> usernames = new HashSet<>();
+        for (int i = 0; i < lines.size(); i++) {
+            if (results[i] == null) {
+                usernames.add(requests[i].getAuthor());
+            }
+        }
+        Map<String, Long> authorIds = usernames.isEmpty() ? Map.of()
+                : userRepository.findIdsByUsernameIn(usernames).stream()
+                .collect(Collectors.toMap(u -> u.getUsername().toLowerCase(Locale.ROOT), UserRepository.UsernameView::getUserId));
+
+        List<Integer> positions = new ArrayList<>();
+        List<PostRow> rows = new ArrayList<>();
+        Date now = new Date();
+        for (int i = 0; i < lines.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            BulkPostRequest request = requests[i];
+            Long authorId = authorIds.get(request.getAuthor().toLowerCase(Locale.ROOT));
+            if (authorId == null) {
+                results[i] = BulkPostResult.failed(lines.get(i).number(), "Không tìm thấy tác giả: " + request.getAuthor());
+                continue;
+            }
+            positions.add(i);
+            rows.add(new PostRow(request.getTitle(), request.getContent(), ExcerptUtil.excerptOf(request.getContent()),
+                    authorId, request.getCreatedAt() != null ? request.getCreatedAt() : now));
+        }
+
+        if (!rows.isEmpty()) {
+            try {
+                List<Long> ids = transactionTemplate.execute(status -> insertChunk(rows));
+                for (int j = 0; j < positions.size(); j++) {
+                    int i = positions.get(j);
+                    results[i] = BulkPostResult.created(lines.get(i).number(), ids.get(j));
+                }
+            } catch (DataAccessException e) {
+                // The chunk was rolled back as a whole, retrying row by row reports only the rows the database rejects
+                log.warn("Bulk import chunk starting at line {} failed, retrying row by row",
+                        lines.get(positions.get(0)).number(), e);
+                for (int j = 0; j < positions.size(); j++) {
+                    int i = positions.get(j);
+                    List<PostRow> row = List.of(rows.get(j));
+                    try {
+                        List<Long> ids = transactionTemplate.execute(status -> insertChunk(row));
+                        results[i] = BulkPostResult.created(lines.get(i).number(), ids.get(0));
+                    } catch (DataAccessException rowError) {
+                        results[i] = BulkPostResult.failed(lines.get(i).number(), "Không thể lưu bài viết này.");
+                    }
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    // Posts and both counters move together, so a failed chunk leaves no drift behind
+    private List<Long> insertChunk(List<PostRow> rows) {
+        List<Long> ids = postBatchRepository.insertAll(rows);
+        postCounterRepository.increment(PostCounter.TOTAL_POSTS, rows.size());
+        Map<Long, Long> postsPerAuthor = rows.stream()
+                .collect(Collectors.groupingBy(PostRow::authorId, Collectors.counting()));
+        postsPerAuthor.forEach(userRepository::adjustPostCount);
+        // Delivered after the chunk commits, nothing reaches the search index for a rolled back chunk
+        for (int i = 0; i < rows.size(); i++) {
+            eventPublisher.publishEvent(PostChangedEvent.saved(ids.get(i), rows.get(i).title(), rows.get(i).content()));
+        }
+        return ids;
+    }
+
+    private static String validate(BulkPostRequest request) {
+        if (request.getTitle() == null || request.getTitle().isBlank() || request.getContent() == null) {
+            return "Thiếu tiêu đề hoặc nội dung.";
+        }
+        if (request.getTitle().length() > MAX_TITLE_LENGTH) {
+            return "Tiêu đề vượt quá " + MAX_TITLE_LENGTH + " ký tự.";
+        }
+        // A UTF-16 char encodes to three bytes at most, so only long bodies are encoded
+        if (request.getContent().length() > MAX_CONTENT_BYTES / 3
+                && request.getContent().getBytes(StandardCharsets.UTF_8).length > MAX_CONTENT_BYTES) {
+            return "Nội dung vượt quá " + MAX_CONTENT_BYTES + " byte.";
+        }
+        if (request.getAuthor() == null) {
+            return "Thiếu tác giả.";
+        }
+        return null;
+    }
+
+    private void writeLine(Writer writer, Object value) throws IOException {
+        writer.write(objectMapper.writeValueAsString(value));
+        writer.write('\n');
+    }
+}
@@ -12,162 +12,376 @@ package vn.edu.iuh.fit.backend.service.impl;
  * @version:    1.0
  */
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import vn.edu.iuh.fit.backend.cache.PostCache;
 import vn.edu.iuh.fit.backend.dto.request.CreatePostRequest;
 import vn.edu.iuh.fit.backend.dto.request.UpdatePostRequest;
 import vn.edu.iuh.fit.backend.dto.response.PaginatedPostsResponse;
+import vn.edu.iuh.fit.backend.dto.response.PostListItem;
 import vn.edu.iuh.fit.backend.dto.response.PostResponse;
-import vn.edu.iuh.fit.backend.dto.response.UserResponse;
+import vn.edu.iuh.fit.backend.dto.response.PostSummaryResponse;
+import vn.edu.iuh.fit.backend.dto.response.PostVersion;
+import vn.edu.iuh.fit.backend.dto.response.TitleSuggestionResponse;
+import vn.edu.iuh.fit.backend.event.PostChangedEvent;
 import vn.edu.iuh.fit.backend.exception.AccessDeniedException;
+import vn.edu.iuh.fit.backend.exception.BadRequestException;
 import vn.edu.iuh.fit.backend.exception.PostNotFoundException;
 import vn.edu.iuh.fit.backend.exception.UnauthorizedException;
 import vn.edu.iuh.fit.backend.exception.UserNotFoundException;
 import vn.edu.iuh.fit.backend.model.Post;
-import vn.edu.iuh.fit.backend.model.User;
+import vn.edu.iuh.fit.backend.model.PostCounter;
+import vn.edu.iuh.fit.backend.repository.PostCounterRepository;
+import vn.edu.iuh.fit.backend.repository.PostProjection;
 import vn.edu.iuh.fit.backend.repository.PostRepository;
 import vn.edu.iuh.fit.backend.repository.UserRepository;
+import vn.edu.iuh.fit.backend.search.PostSearchIndex;
+import vn.edu.iuh.fit.backend.search.ScoredDoc;
+import vn.edu.iuh.fit.backend.search.SearchHits;
+import vn.edu.iuh.fit.backend.search.TitleSuggester;
+import vn.edu.iuh.fit.backend.search.TitleTrie;
+import vn.edu.iuh.fit.backend.security.JwtPrincipal;
 import vn.edu.iuh.fit.backend.service.PostService;
+import vn.edu.iuh.fit.backend.util.ExcerptUtil;
+import vn.edu.iuh.fit.backend.util.PostCursor;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+// One timer per public method (class and method tags), calls between methods of this class are not counted
+@Timed(value = "post.service", histogram = true)
 public class PostServiceImpl implements PostService {
 
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final PostCounterRepository postCounterRepository;
+    private final PostCache postCache;
+    private final PostSearchIndex postSearchIndex;
+    private final TitleSuggester titleSuggester;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final String CURSOR_SORT_FIELD = "createdAt";
+    // Deepest rank a search page may reach, ranking keeps this many hits in memory
+    private static final int MAX_SEARCH_RESULTS = 1000;
 
     @Override
+    @Transactional
     public PostResponse createPost(CreatePostRequest postRequest) {
-        User author = getCurrentUser();
+        Long authorId = getCurrentUserId();
 
         Post post = new Post();
         post.setTitle(postRequest.getTitle());
         post.setContent(postRequest.getContent());
-        post.setAuthor(author);
+        post.setExcerpt(ExcerptUtil.excerptOf(postRequest.getContent()));
+        // Reference only, the author row is never loaded just to set the foreign key
+        post.setAuthor(userRepository.getReferenceById(authorId));
         Post newPost = postRepository.save(post);
-        return convertToDto(newPost);
+        adjustPostCounters(authorId, 1);
+        eventPublisher.publishEvent(PostChangedEvent.saved(newPost.getId(), newPost.getTitle(), newPost.getContent()));
+        return findPostResponse(newPost.getId());
     }
 
     @Override
+    @Transactional
     public PostResponse updatePost(Long postId, UpdatePostRequest postDetails) {
-        User currentUser = getCurrentUser();
-
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new PostNotFoundException("Không tìm thấy bài viết với ID: " + postId));
 
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        boolean isAdmin = authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-
-        if (!post.getAuthor().getUserId().equals(currentUser.getUserId()) && !isAdmin) {
+        if (!isOwnerOrAdmin(post)) {
             throw new AccessDeniedException("Bạn không có quyền chỉnh sửa bài viết này.");
         }
 
         post.setTitle(postDetails.getTitle());
         post.setContent(postDetails.getContent());
+        post.setExcerpt(ExcerptUtil.excerptOf(postDetails.getContent()));
         Post updatedPost = postRepository.save(post);
-        return convertToDto(updatedPost);
+        eventPublisher.publishEvent(PostChangedEvent.saved(updatedPost.getId(), updatedPost.getTitle(), updatedPost.getContent()));
+        return findPostResponse(updatedPost.getId());
     }
 
     @Override
-    public PaginatedPostsResponse getAllPosts(int page, int size, String sortBy, String direction, boolean myPosts) {
-        User user = getCurrentUser();
+    @Transactional(readOnly = true)
+    public PaginatedPostsResponse<PostResponse> getAllPosts(int page, int size, String sortBy, String direction,
+                                                            boolean myPosts, boolean includeTotal) {
+        return listPosts(PostProjection.FULL, page, size, sortBy, direction, myPosts, includeTotal);
+    }
 
-        Sort sort = Sort.by(Sort.Direction.fromString(direction), sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
+    @Override
+    @Transactional(readOnly = true)
+    public PaginatedPostsResponse<PostSummaryResponse> getPostSummaries(int page, int size, String sortBy, String direction,
+                                                                        boolean myPosts, boolean includeTotal) {
+        return listPosts(PostProjection.SUMMARY, page, size, sortBy, direction, myPosts, includeTotal);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginatedPostsResponse<PostResponse> getPostsByCursor(String after, String before, int size,
+                                                                 String direction, boolean myPosts) {
+        return listPostsByCursor(PostProjection.FULL, after, before, size, direction, myPosts);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginatedPostsResponse<PostSummaryResponse> getPostSummariesByCursor(String after, String before, int size,
+                                                                                String direction, boolean myPosts) {
+        return listPostsByCursor(PostProjection.SUMMARY, after, before, size, direction, myPosts);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginatedPostsResponse<PostVersion> getPostVersions(int page, int size, String sortBy, String direction,
+                                                               boolean myPosts, boolean includeTotal) {
+        return listPosts(PostProjection.VERSION, page, size, sortBy, direction, myPosts, includeTotal);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginatedPostsResponse<PostVersion> getPostVersionsByCursor(String after, String before, int size,
+                                                                       String direction, boolean myPosts) {
+        return listPostsByCursor(PostProjection.VERSION, after, before, size, direction, myPosts);
+    }
+
+    private <T extends PostListItem> PaginatedPostsResponse<T> listPosts(PostProjection<T> projection,
+                                                                         int page, int size, String sortBy, String direction,
+                                                                         boolean myPosts, boolean includeTotal) {
+        requireAuthenticated();
+        Long authorId = myPosts ? getCurrentUserId() : null;
 
-        Page<Post> postPage;
-        if (myPosts) {
-            postPage = postRepository.findByAuthor(user, pageable);
-        } else {
-            postPage = postRepository.findAll(pageable);
+        Sort.Direction sortDirection = Sort.Direction.fromString(direction);
+        Sort sort = Sort.by(sortDirection, sortBy);
+        if (CURSOR_SORT_FIELD.equals(sortBy)) {
+            // Tie-break on id so the page lines up with the keyset order used by cursor mode
+            sort = sort.and(Sort.by(sortDirection, "id"));
         }
+        Pageable pageable = PageRequest.of(page, size, sort);
 
-        List<PostResponse> posts = postPage.getContent().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        Slice<T> postPage = postRepository.findPage(projection, authorId, pageable);
+        List<T> posts = postPage.getContent();
 
-        PaginatedPostsResponse response = new PaginatedPostsResponse();
+        PaginatedPostsResponse<T> response = new PaginatedPostsResponse<>();
         response.setPosts(posts);
         response.setCurrentPage(postPage.getNumber());
-        response.setTotalPages(postPage.getTotalPages());
-        response.setTotalElements(postPage.getTotalElements());
+        if (includeTotal) {
+            // Totals come from materialized counters, never from a COUNT(*) over posts
+            long totalElements = myPosts
+                    ? userRepository.findPostCountByUserId(authorId)
+                    : postCounterRepository.findValueByName(PostCounter.TOTAL_POSTS).orElse(0L);
+            response.setTotalElements(totalElements);
+            response.setTotalPages((int) ((totalElements + size - 1) / size));
+        }
         response.setHasNext(postPage.hasNext());
         response.setHasPrevious(postPage.hasPrevious());
 
+        // Let offset clients switch to cursor mode from any page sorted by createdAt
+        if (CURSOR_SORT_FIELD.equals(sortBy) && postPage.hasContent()) {
+            if (postPage.hasNext()) {
+                response.setNextCursor(toCursor(posts.get(posts.size() - 1)));
+            }
+            if (postPage.hasPrevious()) {
+                response.setPrevCursor(toCursor(posts.get(0)));
+            }
+        }
+
+        return response;
+    }
+
+    private <T extends PostListItem> PaginatedPostsResponse<T> listPostsByCursor(PostProjection<T> projection,
+                                                                                 String after, String before, int size,
+                                                                                 String direction, boolean myPosts) {
+        requireAuthenticated();
+        Long authorId = myPosts ? getCurrentUserId() : null;
+
+        boolean descending = Sort.Direction.fromString(direction).isDescending();
+        boolean backward = after == null && before != null;
+        PostCursor cursor = after != null ? PostCursor.decode(after)
+                : before != null ? PostCursor.decode(before) : null;
+
+        // Walking forward in DESC order (or backward in ASC order) means seeking older rows
+        boolean seekOlder = descending != backward;
+        // Fetch one extra row to know whether another page exists without counting
+        List<T> rows = postRepository.seek(projection, authorId, cursor, seekOlder, size + 1);
+
+        boolean hasMore = rows.size() > size;
+        List<T> pageRows = new ArrayList<>(hasMore ? rows.subList(0, size) : rows);
+        if (backward) {
+            // Rows were read walking away from the cursor, restore the requested order
+            Collections.reverse(pageRows);
+        }
+
+        boolean hasNext = backward || hasMore;
+        boolean hasPrevious = backward ? hasMore : cursor != null;
+
+        PaginatedPostsResponse<T> response = new PaginatedPostsResponse<>();
+        response.setPosts(pageRows);
+        response.setHasNext(hasNext);
+        response.setHasPrevious(hasPrevious);
+        if (!pageRows.isEmpty()) {
+            if (hasNext) {
+                response.setNextCursor(toCursor(pageRows.get(pageRows.size() - 1)));
+            }
+            if (hasPrevious) {
+                response.setPrevCursor(toCursor(pageRows.get(0)));
+            }
+        }
+
+        return response;
+    }
+
+    private String toCursor(PostListItem post) {
+        return PostCursor.of(post.getCreatedAt(), post.getId()).encode();
+    }
+
+    // Single query and deliberately outside a read-only transaction, so it stays on the primary:
+    // ids missing from a lagging replica would be dropped from the index below
+    @Override
+    public PaginatedPostsResponse<PostSummaryResponse> searchPosts(String query, int page, int size) {
+        requireAuthenticated();
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Từ khóa tìm kiếm không được để trống.");
+        }
+        // In long, so a huge page or size cannot wrap around into the allowed range
+        if (page < 0 || size < 1 || (long) page * size + size > MAX_SEARCH_RESULTS) {
+            throw new BadRequestException("Chỉ hỗ trợ xem " + MAX_SEARCH_RESULTS + " kết quả tìm kiếm đầu tiên.");
+        }
+        int from = page * size;
+
+        SearchHits hits = postSearchIndex.search(query, from + size);
+        List<ScoredDoc> pageHits = hits.top().subList(Math.min(from, hits.top().size()), hits.top().size());
+        // The index only ranks ids, rows come from the database in one IN query and keep the ranked order
+        Map<Long, PostSummaryResponse> rows = postRepository.findByIds(PostProjection.SUMMARY,
+                        pageHits.stream().map(ScoredDoc::id).toList()).stream()
+                .collect(Collectors.toMap(PostSummaryResponse::getId, Function.identity()));
+
+        List<PostSummaryResponse> posts = new ArrayList<>(pageHits.size());
+        List<Long> stale = new ArrayList<>();
+        for (ScoredDoc hit : pageHits) {
+            PostSummaryResponse row = rows.get(hit.id());
+            if (row != null) {
+                posts.add(row);
+            } else {
+                stale.add(hit.id());
+            }
+        }
+        if (!stale.isEmpty()) {
+            postSearchIndex.forget(stale);
+        }
+
+        PaginatedPostsResponse<PostSummaryResponse> response = new PaginatedPostsResponse<>();
+        response.setPosts(posts);
+        response.setCurrentPage(page);
+        response.setTotalElements(hits.totalHits());
+        response.setTotalPages((int) ((hits.totalHits() + size - 1) / size));
+        response.setHasNext(from + size < Math.min(hits.totalHits(), MAX_SEARCH_RESULTS));
+        response.setHasPrevious(page > 0);
         return response;
     }
 
+    // Served from memory on every keystroke, the database is never queried here
     @Override
+    public List<TitleSuggestionResponse> suggestTitles(String prefix, int limit) {
+        requireAuthenticated();
+        if (limit < 1 || limit > TitleTrie.TOP_K) {
+            throw new BadRequestException("Tham số limit phải từ 1 đến " + TitleTrie.TOP_K + ".");
+        }
+        return titleSuggester.suggest(prefix, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public PostResponse getPostById(Long postId) {
-        getCurrentUser();
+        requireAuthenticated();
+
+        // Invalidated after commit by PostCache listeners, writes never go through the cache
+        return postCache.get(postId, this::findPostResponse);
+    }
 
-        Optional<Post> post = postRepository.findById(postId);
-        if (post.isEmpty()) {
-            throw new PostNotFoundException("Không tìm thấy bài viết");
+    // A cached response already knows its version, otherwise only updatedAt is read
+    @Override
+    @Transactional(readOnly = true)
+    public Date getPostVersion(Long postId) {
+        requireAuthenticated();
+
+        PostResponse cached = postCache.getIfPresent(postId);
+        if (cached != null) {
+            return cached.getUpdatedAt();
         }
-        return convertToDto(post.get());
+        return postRepository.findUpdatedAtById(postId)
+                .orElseThrow(() -> new PostNotFoundException("Không tìm thấy bài viết"));
+    }
+
+    private PostResponse findPostResponse(Long postId) {
+        return postRepository.findPostResponseById(postId)
+                .orElseThrow(() -> new PostNotFoundException("Không tìm thấy bài viết"));
     }
 
     @Override
+    @Transactional
     public void deletePost(Long postId) {
-        User currentUser = getCurrentUser();
-
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new PostNotFoundException("Không tìm thấy bài viết với ID: " + postId));
 
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        boolean isAdmin = authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-
-        if (!post.getAuthor().getUserId().equals(currentUser.getUserId()) && !isAdmin) {
+        if (!isOwnerOrAdmin(post)) {
             throw new AccessDeniedException("Bạn không có quyền xóa bài viết này.");
         }
 
         postRepository.delete(post);
+        adjustPostCounters(post.getAuthor().getUserId(), -1);
+        eventPublisher.publishEvent(PostChangedEvent.deleted(postId));
     }
 
-    private PostResponse convertToDto(Post post) {
-        PostResponse dto = new PostResponse();
-        dto.setId(post.getId());
-        dto.setTitle(post.getTitle());
-        dto.setContent(post.getContent());
-        dto.setAuthor(convertToUserResponse(post.getAuthor()));
-        dto.setCreatedAt(post.getCreatedAt());
-        dto.setUpdatedAt(post.getUpdatedAt());
-        return dto;
+    private void adjustPostCounters(Long authorId, long delta) {
+        postCounterRepository.increment(PostCounter.TOTAL_POSTS, delta);
+        userRepository.adjustPostCount(authorId, delta);
     }
 
-    private UserResponse convertToUserResponse(User user) {
-        UserResponse userResponse = new UserResponse();
-        userResponse.setId(userResponse.getId());
-        userResponse.setUsername(user.getUsername());
-        userResponse.setFirstName(user.getFirstName());
-        userResponse.setLastName(user.getLastName());
-        return userResponse;
+    // Reading the id of the lazy author proxy does not initialize it
+    private boolean isOwnerOrAdmin(Post post) {
+        boolean isAdmin = getAuthentication().getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        return isAdmin || post.getAuthor().getUserId().equals(getCurrentUserId());
     }
 
-    private User getCurrentUser() {
+    // Resolves only the current user's id, read paths never need the full entity
+    private Long getCurrentUserId() {
+        Authentication authentication = getAuthentication();
+        if (authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            // Stateless mode already carries the id in the token
+            return principal.userId();
+        }
+        String username = authentication.getName();
+        return userRepository.findIdByUsername(username)
+                .orElseThrow(() -> new UserNotFoundException("Không tìm thấy người dùng."));
+    }
+
+    // Authentication check without touching the database
+    private void requireAuthenticated() {
+        getAuthentication();
+    }
+
+    private Authentication getAuthentication() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated() ||
                 authentication instanceof AnonymousAuthenticationToken) {
             throw new UnauthorizedException("Bạn chưa đăng nhập hoặc token không hợp lệ.");
         }
-
-        String username = authentication.getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new UserNotFoundException("Không tìm thấy người dùng."));
+        return authentication;
     }
 
 }
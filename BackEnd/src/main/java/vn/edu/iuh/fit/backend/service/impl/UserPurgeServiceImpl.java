@@ -0,0 +1,72 @@
+/*
+ * @ (#) UserPurgeServiceImpl.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.service.impl;
+/*
+ * @description: 
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import vn.edu.iuh.fit.backend.event.PostsPurgedEvent;
+import vn.edu.iuh.fit.backend.model.PostCounter;
+import vn.edu.iuh.fit.backend.model.UserPurge;
+import vn.edu.iuh.fit.backend.repository.PostCounterRepository;
+import vn.edu.iuh.fit.backend.repository.PostRepository;
+import vn.edu.iuh.fit.backend.repository.UserPurgeRepository;
+import vn.edu.iuh.fit.backend.repository.UserRepository;
+import vn.edu.iuh.fit.backend.service.UserPurgeService;
+
+import java.util.Date;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class UserPurgeServiceImpl implements UserPurgeService {
+
+    private final UserPurgeRepository userPurgeRepository;
+    private final PostRepository postRepository;
+    private final PostCounterRepository postCounterRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${user.purge.chunk-size}")
+    private int chunkSize;
+
+    @Override
+    public List<Long> findPendingUserIds() {
+        return userPurgeRepository.findUserIdsByStatus(UserPurge.Status.PENDING);
+    }
+
+    // Every chunk commits its own progress, so a restart simply continues with the posts that are left
+    @Override
+    @Transactional
+    public boolean purgeNextChunk(Long userId) {
+        List<Long> postIds = postRepository.findIdsByAuthorId(userId, Limit.of(chunkSize));
+        int deleted = postIds.isEmpty() ? 0 : postRepository.deleteByIds(postIds);
+        if (deleted > 0) {
+            postCounterRepository.increment(PostCounter.TOTAL_POSTS, -deleted);
+            userPurgeRepository.addProgress(userId, deleted);
+            // Caches were cleared when the account was marked and may have picked the posts up again since
+            eventPublisher.publishEvent(new PostsPurgedEvent(userId, postIds));
+        }
+        if (postIds.size() == chunkSize) {
+            return false;
+        }
+
+        userRepository.deleteRoleLinks(userId);
+        userRepository.deleteRowById(userId);
+        userPurgeRepository.markDone(userId, new Date());
+        return true;
+    }
+}
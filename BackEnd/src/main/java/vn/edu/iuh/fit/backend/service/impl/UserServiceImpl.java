@@ -13,6 +13,7 @@ package vn.edu.iuh.fit.backend.service.impl;
  */
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -21,42 +22,65 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import vn.edu.iuh.fit.backend.dto.response.PaginatedUsersResponse;
+import vn.edu.iuh.fit.backend.dto.response.UserPurgeResponse;
 import vn.edu.iuh.fit.backend.dto.response.UserResponse;
+import vn.edu.iuh.fit.backend.event.UserChangedEvent;
 import vn.edu.iuh.fit.backend.exception.AccessDeniedException;
+import vn.edu.iuh.fit.backend.exception.BadRequestException;
 import vn.edu.iuh.fit.backend.exception.UnauthorizedException;
 import vn.edu.iuh.fit.backend.exception.UserNotFoundException;
 import vn.edu.iuh.fit.backend.model.Role;
 import vn.edu.iuh.fit.backend.model.User;
+import vn.edu.iuh.fit.backend.model.UserPurge;
 import vn.edu.iuh.fit.backend.repository.RoleRepository;
+import vn.edu.iuh.fit.backend.repository.UserPurgeRepository;
 import vn.edu.iuh.fit.backend.repository.UserRepository;
+import vn.edu.iuh.fit.backend.security.PrincipalCache;
 import vn.edu.iuh.fit.backend.service.UserService;
 
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 public class UserServiceImpl implements UserService {
+    private static final int MAX_PAGE_SIZE = 100;
 
     private final UserRepository userRepository;
+    private final UserPurgeRepository userPurgeRepository;
+    private final PrincipalCache principalCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, UserPurgeRepository userPurgeRepository,
+                           PrincipalCache principalCache, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.userPurgeRepository = userPurgeRepository;
+        this.principalCache = principalCache;
+        this.eventPublisher = eventPublisher;
     }
 
+    // Roles are initialized, the token built from the detached user reads them
     @Override
+    @Transactional(readOnly = true)
     public User findByUsername(String username) {
-        return userRepository.findByUsername(username).orElseThrow(
+        return userRepository.findWithRolesByUsername(username).orElseThrow(
                 () -> new RuntimeException("User not found")
         );
     }
 
-    // Load user by username and convert to UserDetails
+    // Load user by username and convert to UserDetails, served from the principal cache when possible
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username).orElseThrow(
+        return principalCache.get(username, this::loadUserDetails);
+    }
+
+    private UserDetails loadUserDetails(String username) {
+        User user = userRepository.findWithRolesByUsername(username).filter(u -> u.getDeletedAt() == null).orElseThrow(
                 () -> new UserNotFoundException("User not found")
         );
 
@@ -69,14 +93,29 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<UserResponse> getAllUsers() {
+    @Transactional(readOnly = true)
+    public PaginatedUsersResponse getUsers(int page, int size, Long after, String query, String role) {
         checkAdminRole();
-        List<User> users = userRepository.findAll();
-        List<UserResponse> userResponses = new ArrayList<>();
-        for (User user : users) {
-            userResponses.add(convertToDto(user));
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE || (long) page * size > Integer.MAX_VALUE) {
+            throw new BadRequestException("Tham số phân trang không hợp lệ, size tối đa là " + MAX_PAGE_SIZE + ".");
         }
-        return userResponses;
+        String prefix = query == null || query.isBlank() ? null : query.trim();
+        String roleName = role == null || role.isBlank() ? null : role;
+
+        // One extra row tells whether another page exists without counting
+        List<UserResponse> rows = userRepository.findRows(prefix, roleName, after, page * size, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<UserResponse> users = hasNext ? rows.subList(0, size) : rows;
+
+        PaginatedUsersResponse response = new PaginatedUsersResponse();
+        response.setUsers(users);
+        response.setCurrentPage(after == null ? page : 0);
+        response.setHasNext(hasNext);
+        response.setHasPrevious(after != null || page > 0);
+        if (hasNext) {
+            response.setNextCursor(users.get(users.size() - 1).getId());
+        }
+        return response;
     }
 
     private UserResponse convertToDto(User user) {
@@ -97,21 +136,52 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserResponse getUserById(Long id) {
         checkAdminRole();
-        return convertToDto(userRepository.findById(id).orElseThrow(
+        return convertToDto(userRepository.findWithRolesByUserId(id).filter(user -> user.getDeletedAt() == null).orElseThrow(
                 () -> new UserNotFoundException("Không tìm thấy người dùng với id: "+ id)
         ));
     }
 
+    // Only marks the account, posts and the row are removed in chunks by UserPurgeJob
     @Override
+    @Transactional
     public void deleteUser(Long id) {
         checkAdminRole();
-        userRepository.deleteById(id);
+        userRepository.findById(id).filter(user -> user.getDeletedAt() == null).ifPresent(user -> {
+            Date now = new Date();
+            // Raising the epoch also revokes the user's tokens
+            userRepository.markDeleted(id, now);
+            userPurgeRepository.save(new UserPurge(id, user.getUsername(), UserPurge.Status.PENDING, 0, now, null));
+            eventPublisher.publishEvent(new UserChangedEvent(user.getUserId(), user.getUsername()));
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserPurgeResponse getPurgeStatus(Long id) {
+        checkAdminRole();
+        return userPurgeRepository.findById(id)
+                .map(UserPurgeResponse::of)
+                .orElseThrow(() -> new UserNotFoundException("Không có yêu cầu xóa cho người dùng với id: " + id));
+    }
+
+    // Raise the security epoch so every token issued so far is rejected
+    @Override
+    @Transactional
+    public void revokeTokens(Long id) {
+        checkAdminRole();
+        User user = userRepository.findById(id).orElseThrow(
+                () -> new UserNotFoundException("Không tìm thấy người dùng với id: "+ id)
+        );
+        userRepository.incrementSecurityEpoch(id);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getUserId(), user.getUsername()));
     }
 
 
     @Override
+    @Transactional(readOnly = true)
     public UserResponse getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated() ||
@@ -121,7 +191,8 @@ public class UserServiceImpl implements UserService {
 
         String username = authentication.getName();
 
-        return convertToDto(userRepository.findByUsername(username)
+        return convertToDto(userRepository.findWithRolesByUsername(username)
+                .filter(user -> user.getDeletedAt() == null)
                 .orElseThrow(() -> new UserNotFoundException("Không tìm thấy người dùng.")));
     }
 
@@ -0,0 +1,37 @@
+/*
+ * @ (#) ExcerptUtil.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.util;
+/*
+ * @description: Builds the fixed-length preview stored next to the post body
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+public final class ExcerptUtil {
+    public static final int EXCERPT_LENGTH = 200;
+    private static final String ELLIPSIS = "…";
+
+    private ExcerptUtil() {
+    }
+
+    public static String excerptOf(String content) {
+        if (content == null) {
+            return null;
+        }
+        String text = content.strip().replaceAll("\\s+", " ");
+        if (text.length() <= EXCERPT_LENGTH) {
+            return text;
+        }
+        int end = EXCERPT_LENGTH - ELLIPSIS.length();
+        // Never cut a surrogate pair in half
+        if (Character.isHighSurrogate(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.substring(0, end).stripTrailing() + ELLIPSIS;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * @ (#) PostCursor.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.util;
+/*
+ * @description: Opaque keyset cursor over (createdAt, id) used by cursor pagination
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import vn.edu.iuh.fit.backend.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+public record PostCursor(Date createdAt, Long id) {
+
+    public static PostCursor of(Date createdAt, Long id) {
+        return new PostCursor(createdAt, id);
+    }
+
+    // Encode as url-safe base64 of "createdAtMillis:id" so clients treat it as an opaque token
+    public String encode() {
+        String raw = createdAt.getTime() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PostCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            long createdAt = Long.parseLong(raw.substring(0, separator));
+            long id = Long.parseLong(raw.substring(separator + 1));
+            return new PostCursor(new Date(createdAt), id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Cursor phân trang không hợp lệ.");
+        }
+    }
+}
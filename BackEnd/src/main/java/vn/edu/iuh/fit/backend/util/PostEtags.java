@@ -0,0 +1,54 @@
+/*
+ * @ (#) PostEtags.java       1.0     17/10/2026
+ *
+ * Copyright (c) 2026 IUH. All rights reserved.
+ */
+
+package vn.edu.iuh.fit.backend.util;
+/*
+ * @description: Strong entity tags for single posts and post pages
+ * @author: Nguyen Thanh Nhut
+ * @date: 17/10/2026
+ * @version:    1.0
+ */
+
+import vn.edu.iuh.fit.backend.dto.response.PaginatedPostsResponse;
+import vn.edu.iuh.fit.backend.dto.response.PostListItem;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+
+public final class PostEtags {
+
+    private PostEtags() {
+    }
+
+    // updatedAt moves on every edit, so id + updatedAt identifies one version of a post
+    public static String of(Long postId, Date updatedAt) {
+        return "\"" + postId + "-" + updatedAt.getTime() + "\"";
+    }
+
+    // Covers everything on the page that can change: membership, versions, totals and cursors
+    public static String of(PaginatedPostsResponse<? extends PostListItem> page, String view) {
+        StringBuilder stamp = new StringBuilder(view)
+                .append('|').append(page.getCurrentPage())
+                .append('|').append(page.getTotalElements())
+                .append('|').append(page.getTotalPages())
+                .append('|').append(page.isHasNext())
+                .append('|').append(page.isHasPrevious())
+                .append('|').append(page.getNextCursor())
+                .append('|').append(page.getPrevCursor());
+        for (PostListItem post : page.getPosts()) {
+            stamp.append('|').append(post.getId()).append(':').append(post.getUpdatedAt().getTime());
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(stamp.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package vn.edu.iuh.fit.backend;
+
+import vn.edu.iuh.fit.backend.model.Post;
+import vn.edu.iuh.fit.backend.model.Role;
+import vn.edu.iuh.fit.backend.model.User;
+import vn.edu.iuh.fit.backend.util.ExcerptUtil;
+
+import java.util.Set;
+
+// Unsaved fixtures shared by the tests, callers adjust the fields their case depends on
+public final class TestData {
+
+    private TestData() {
+    }
+
+    public static User user(String username, Role... roles) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("secret");
+        user.setEmail(username + "@example.com");
+        user.setRoles(Set.of(roles));
+        return user;
+    }
+
+    public static Post post(User author, String title, String content) {
+        Post post = new Post();
+        post.setTitle(title);
+        post.setContent(content);
+        post.setExcerpt(ExcerptUtil.excerptOf(content));
+        post.setAuthor(author);
+        return post;
+    }
+}
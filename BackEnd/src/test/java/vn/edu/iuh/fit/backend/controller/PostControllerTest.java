@@ -0,0 +1,157 @@
+package vn.edu.iuh.fit.backend.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import vn.edu.iuh.fit.backend.TestData;
+import vn.edu.iuh.fit.backend.model.Post;
+import vn.edu.iuh.fit.backend.model.User;
+import vn.edu.iuh.fit.backend.repository.PostRepository;
+import vn.edu.iuh.fit.backend.repository.RoleRepository;
+import vn.edu.iuh.fit.backend.repository.UserRepository;
+import vn.edu.iuh.fit.backend.security.JwtUtil;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "jwt.stateless=true")
+@AutoConfigureMockMvc
+class PostControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Post post;
+    private String authorization;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(TestData.user("etag", roleRepository.findByRoleName("ROLE_USER").orElseThrow()));
+        authorization = "Bearer " + jwtUtil.generateToken(user.getUsername());
+
+        post = postRepository.save(TestData.post(user, "Conditional", "Body"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void unchangedPostIsRevalidatedWithoutLoadingIt() throws Exception {
+        String etag = mockMvc.perform(get("/api/posts/{id}", post.getId()).header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/api/posts/{id}", post.getId()).header(HttpHeaders.AUTHORIZATION, authorization)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        // The response was cached by the first request, so not even the version is read
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        mockMvc.perform(put("/api/posts/{id}", post.getId()).header(HttpHeaders.AUTHORIZATION, authorization)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Edited\",\"content\":\"Body\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/posts/{id}", post.getId()).header(HttpHeaders.AUTHORIZATION, authorization)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void unchangedPageIsRevalidatedFromVersionColumns() throws Exception {
+        String etag = mockMvc.perform(get("/api/posts").param("view", "summary")
+                        .header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/posts").param("view", "summary")
+                        .header(HttpHeaders.AUTHORIZATION, authorization)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        String fullEtag = mockMvc.perform(get("/api/posts").header(HttpHeaders.AUTHORIZATION, authorization))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, fullEtag);
+    }
+
+    @Test
+    void cachedPostIsServedPrecompressedToGzipClients() throws Exception {
+        post.setContent("Nội dung lặp lại. ".repeat(200));
+        post = postRepository.save(post);
+
+        byte[] identity = mockMvc.perform(get("/api/posts/{id}", post.getId()).header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        byte[] gzip = mockMvc.perform(get("/api/posts/{id}", post.getId()).header(HttpHeaders.AUTHORIZATION, authorization)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertArrayEquals(identity, new GZIPInputStream(new ByteArrayInputStream(gzip)).readAllBytes());
+
+        mockMvc.perform(get("/api/posts/{id}", post.getId()).header(HttpHeaders.AUTHORIZATION, authorization)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void verificationServiceCallsAndErrorsAreMetered() throws Exception {
+        mockMvc.perform(get("/api/posts/{id}", post.getId() + 1000).header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isNotFound());
+
+        assertTrue(meterRegistry.get("api.errors").tag("code", "POST_NOT_FOUND").counter().count() >= 1);
+        assertTrue(meterRegistry.get("security.jwt.verification").tag("outcome", "verified").timer().count() >= 1);
+        assertTrue(meterRegistry.get("post.service").tag("method", "getPostById")
+                .tag("exception", "PostNotFoundException").timer().count() >= 1);
+    }
+}
@@ -0,0 +1,105 @@
+package vn.edu.iuh.fit.backend.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import vn.edu.iuh.fit.backend.TestData;
+import vn.edu.iuh.fit.backend.dto.request.CreatePostRequest;
+import vn.edu.iuh.fit.backend.dto.response.PostResponse;
+import vn.edu.iuh.fit.backend.repository.PostRepository;
+import vn.edu.iuh.fit.backend.repository.UserRepository;
+import vn.edu.iuh.fit.backend.service.PostService;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Two unrelated H2 databases, nothing is replicated: a read shows which one served it
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "datasource.replica.enabled=true",
+        "datasource.replica.url=jdbc:h2:mem:routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "datasource.replica.username=sa",
+        "datasource.replica.password="
+})
+class ReadWriteRoutingDataSourceTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        // Same schema on the replica, but none of the rows
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("DROP ALL OBJECTS");
+        for (String statement : new JdbcTemplate(primary).queryForList("SCRIPT NODATA", String.class)) {
+            replicaJdbc.execute(statement);
+        }
+        for (String username : List.of("writer", "reader")) {
+            userRepository.save(TestData.user(username));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void readOnlyServiceReadsGoToTheReplicaExceptForTheRecentWriter() {
+        authenticate("writer");
+        postService.createPost(post());
+
+        // Sticky to the primary right after its own write
+        assertEquals(1, postService.getPostSummaries(0, 10, "createdAt", "desc", false, false).getPosts().size());
+
+        authenticate("reader");
+        assertEquals(0, postService.getPostSummaries(0, 10, "createdAt", "desc", false, false).getPosts().size());
+    }
+
+    @Test
+    void cacheRefillAfterAChangeReadsThePrimary() {
+        authenticate("writer");
+        PostResponse created = postService.createPost(post());
+
+        // The replica has no such row, only the primary can answer
+        authenticate("reader");
+        assertEquals(created.getTitle(), postService.getPostById(created.getId()).getTitle());
+    }
+
+    private static CreatePostRequest post() {
+        CreatePostRequest request = new CreatePostRequest();
+        request.setTitle("Routed post");
+        request.setContent("Written to the primary only");
+        return request;
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+}
@@ -0,0 +1,56 @@
+package vn.edu.iuh.fit.backend.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimitFilterTest {
+
+    @Test
+    void requestsBeyondTheLimitAreShedAfterTheQueueTimeout() throws Exception {
+        // One connection, one request per connection
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(new ObjectMapper(), 1, 1, Duration.ofMillis(50));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (request, response) -> {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(), shed, (request, response) -> {
+            throw new AssertionError("must not be admitted");
+        });
+        assertEquals(503, shed.getStatus());
+        assertEquals("SERVICE_UNAVAILABLE", new ObjectMapper().readTree(shed.getContentAsByteArray()).get("code").asText());
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(), admitted, (request, response) -> { });
+        assertEquals(200, admitted.getStatus());
+        assertEquals(1, filter.stats().getRejectedCount());
+        assertEquals(2, filter.stats().getCompletedTaskCount());
+    }
+}
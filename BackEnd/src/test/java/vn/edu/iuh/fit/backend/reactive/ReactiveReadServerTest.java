@@ -0,0 +1,107 @@
+package vn.edu.iuh.fit.backend.reactive;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import vn.edu.iuh.fit.backend.TestData;
+import vn.edu.iuh.fit.backend.model.Post;
+import vn.edu.iuh.fit.backend.model.User;
+import vn.edu.iuh.fit.backend.repository.PostRepository;
+import vn.edu.iuh.fit.backend.repository.RoleRepository;
+import vn.edu.iuh.fit.backend.repository.UserRepository;
+import vn.edu.iuh.fit.backend.security.JwtUtil;
+
+
+// The R2DBC URL points at the same in-memory H2 database the JPA side writes to
+@SpringBootTest(properties = {
+        "reactive.enabled=true",
+        "reactive.port=0",
+        "reactive.r2dbc.url=r2dbc:h2:mem:///post_management?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "reactive.r2dbc.username=sa",
+        "reactive.r2dbc.password="
+})
+class ReactiveReadServerTest {
+
+    @Autowired
+    private ReactiveReadServer server;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    private WebTestClient client;
+    private Post post;
+    private String authorization;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(TestData.user("reactive", roleRepository.findByRoleName("ROLE_USER").orElseThrow()));
+        authorization = "Bearer " + jwtUtil.generateToken(user);
+
+        post = postRepository.save(TestData.post(user, "Reactive", "Body"));
+
+        client = WebTestClient.bindToServer().baseUrl("http://localhost:" + server.getPort()).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void postsAreReadWithTheMvcResponseShape() {
+        client.get().uri("/api/posts/{id}", post.getId())
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.id").isEqualTo(post.getId())
+                .jsonPath("$.data.title").isEqualTo("Reactive")
+                .jsonPath("$.data.author.username").isEqualTo("reactive");
+
+        client.get().uri("/api/posts?size=5")
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.posts[0].id").isEqualTo(post.getId())
+                .jsonPath("$.data.hasNext").isEqualTo(false);
+
+        client.get().uri("/api/posts/{id}", post.getId() + 1000)
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void feedOptionsOnlyTheMvcEndpointImplementsAreRefused() {
+        for (String query : new String[]{"my-posts=true", "view=summary", "after=abc", "before=abc"}) {
+            client.get().uri("/api/posts?" + query)
+                    .header(HttpHeaders.AUTHORIZATION, authorization)
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+    }
+
+    @Test
+    void readsWithoutAValidTokenAreRejected() {
+        client.get().uri("/api/posts").exchange().expectStatus().isUnauthorized();
+        client.get().uri("/api/posts")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+}
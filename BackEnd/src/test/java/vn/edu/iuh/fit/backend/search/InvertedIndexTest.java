@@ -0,0 +1,73 @@
+package vn.edu.iuh.fit.backend.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InvertedIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void diacriticsAreFoldedOnBothSides() {
+        assertEquals(List.of("duong", "pho", "ha", "noi"), TextAnalyzer.tokenize("Đường phố Hà Nội!"));
+
+        InvertedIndex index = new InvertedIndex();
+        index.apply(List.of(IndexedDoc.of(1, "Phở bò Hà Nội"), IndexedDoc.of(2, "Bún chả")), List.of());
+
+        assertEquals(List.of(1L), ids(index.search("pho ha noi", 10)));
+        assertEquals(List.of(1L), ids(index.search("PHỞ", 10)));
+    }
+
+    @Test
+    void rarerAndMoreFrequentTermsRankHigher() {
+        InvertedIndex index = new InvertedIndex();
+        index.apply(List.of(
+                IndexedDoc.of(1, "java spring"),
+                IndexedDoc.of(2, "java java java spring"),
+                IndexedDoc.of(3, "spring boot"),
+                IndexedDoc.of(4, "spring data")), List.of());
+
+        SearchHits hits = index.search("java spring", 10);
+
+        assertEquals(4, hits.totalHits());
+        assertEquals(List.of(2L, 1L), ids(hits).subList(0, 2));
+    }
+
+    @Test
+    void updatesAndDeletesSurviveMergesAndRestarts() throws IOException {
+        InvertedIndex index = new InvertedIndex();
+        // One segment per change forces several tiered merges
+        for (long id = 1; id <= 40; id++) {
+            index.apply(List.of(IndexedDoc.of(id, "bai viet " + id)), List.of());
+        }
+        index.apply(List.of(IndexedDoc.of(7, "da sua noi dung")), List.of(8L));
+
+        assertEquals(List.of(), ids(index.search("7", 10)));
+        assertEquals(List.of(7L), ids(index.search("sua", 10)));
+        assertEquals(List.of(), ids(index.search("8", 10)));
+        assertEquals(39, index.size());
+
+        index.save(dir, 42);
+        InvertedIndex restored = new InvertedIndex();
+
+        assertEquals(OptionalLong.of(42), restored.load(dir));
+        assertEquals(39, restored.size());
+        assertEquals(List.of(7L), ids(restored.search("sua", 10)));
+        assertEquals(List.of(40L), ids(restored.search("40", 10)));
+    }
+
+    private static List<Long> ids(SearchHits hits) {
+        List<Long> ids = new ArrayList<>();
+        hits.top().forEach(hit -> ids.add(hit.id()));
+        return ids;
+    }
+}
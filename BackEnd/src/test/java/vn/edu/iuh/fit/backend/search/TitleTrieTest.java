@@ -0,0 +1,43 @@
+package vn.edu.iuh.fit.backend.search;
+
+import org.junit.jupiter.api.Test;
+import vn.edu.iuh.fit.backend.dto.response.TitleSuggestionResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TitleTrieTest {
+
+    @Test
+    void prefixesMatchWithoutAccentsNewestFirst() {
+        TitleTrie trie = TitleTrie.builder()
+                .add(1, "Hướng dẫn nấu phở")
+                .add(2, "Hướng dẫn học Java")
+                .add(3, "Hà Nội mùa thu")
+                .add(4, "huong dan nau pho")
+                .build();
+
+        // Same normalized title keeps only the newest post
+        assertEquals(List.of(4L, 2L), ids(trie.suggest("huong d", 10)));
+        assertEquals(List.of(3L), ids(trie.suggest("HÀ ", 10)));
+        assertEquals(List.of(), ids(trie.suggest("ha noi mua dong", 10)));
+    }
+
+    @Test
+    void largeBranchesUseTheirStoredTopK() {
+        TitleTrie.Builder builder = TitleTrie.builder();
+        for (int id = 1; id <= 2000; id++) {
+            builder.add(id, "Bài viết số " + id);
+        }
+        TitleTrie trie = builder.add(5000, "Bài mới nhất").build();
+
+        assertEquals(List.of(5000L, 2000L, 1999L), ids(trie.suggest("bai", 3)));
+        assertEquals(List.of(2000L, 1999L, 1998L), ids(trie.suggest("bai viet so", 3)));
+        assertEquals(List.of(1999L, 1998L, 1997L), ids(trie.suggest("bai viet so 19", 3)));
+    }
+
+    private static List<Long> ids(List<TitleSuggestionResponse> suggestions) {
+        return suggestions.stream().map(TitleSuggestionResponse::getId).toList();
+    }
+}
@@ -0,0 +1,63 @@
+package vn.edu.iuh.fit.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import vn.edu.iuh.fit.backend.datasource.ReadYourWritesTracker;
+import vn.edu.iuh.fit.backend.dto.response.CacheStatsResponse;
+import vn.edu.iuh.fit.backend.event.UserChangedEvent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PrincipalCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<String, UserDetails> loader = username -> {
+        loads.incrementAndGet();
+        return new User(username, "{bcrypt}hash", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    };
+
+    @Test
+    void repeatedLookupsHitTheCache() {
+        PrincipalCache cache = newCache();
+
+        cache.get("alice", loader);
+        cache.get("alice", loader);
+        cache.get("alice", loader);
+
+        CacheStatsResponse stats = cache.stats();
+        assertEquals(1, loads.get());
+        assertEquals(2, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+    }
+
+    @Test
+    void erasingCredentialsOnAReturnedPrincipalDoesNotAffectTheCache() {
+        PrincipalCache cache = newCache();
+
+        ((User) cache.get("alice", loader)).eraseCredentials();
+
+        assertEquals("{bcrypt}hash", cache.get("alice", loader).getPassword());
+    }
+
+    @Test
+    void userChangedEventEvictsTheEntry() {
+        PrincipalCache cache = newCache();
+        cache.get("alice", loader);
+
+        cache.onUserChanged(new UserChangedEvent(1L, "alice"));
+        cache.get("alice", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    private static PrincipalCache newCache() {
+        return new PrincipalCache(100, Duration.ofMinutes(5), new ReadYourWritesTracker(Duration.ofSeconds(5)));
+    }
+}
@@ -0,0 +1,94 @@
+package vn.edu.iuh.fit.backend.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.TestSecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import vn.edu.iuh.fit.backend.TestData;
+import vn.edu.iuh.fit.backend.model.User;
+import vn.edu.iuh.fit.backend.model.UserPurge;
+import vn.edu.iuh.fit.backend.repository.RoleRepository;
+import vn.edu.iuh.fit.backend.repository.UserPurgeRepository;
+import vn.edu.iuh.fit.backend.repository.UserRepository;
+import vn.edu.iuh.fit.backend.service.UserService;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Default stateful mode: the principal is loaded from the database, the epoch claim is still checked
+@SpringBootTest
+@AutoConfigureMockMvc
+class TokenRevocationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SecurityEpochRegistry epochRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserPurgeRepository userPurgeRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(TestData.user("revoked", roleRepository.findByRoleName("ROLE_USER").orElseThrow()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        userPurgeRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void revokingTokensRejectsThemWithoutStatelessMode() throws Exception {
+        String token = jwtUtil.generateToken(user.getUsername());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        userService.revokeTokens(user.getUserId());
+        TestSecurityContextHolder.clearContext();
+
+        mockMvc.perform(get("/api/posts").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/api/posts").header("Authorization", "Bearer " + jwtUtil.generateToken(user.getUsername())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void purgedUsersStayRevokedAfterAReload() {
+        // An id no live user can get, the registry is shared by every test in this context
+        Long purgedId = -user.getUserId();
+        userPurgeRepository.save(new UserPurge(purgedId, "gone", UserPurge.Status.DONE, 0, new Date(), new Date()));
+
+        epochRegistry.reload();
+
+        assertFalse(epochRegistry.isCurrent(purgedId, 5));
+    }
+}
@@ -0,0 +1,109 @@
+package vn.edu.iuh.fit.backend.service.impl;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import vn.edu.iuh.fit.backend.TestData;
+import vn.edu.iuh.fit.backend.dto.request.LoginRequest;
+import vn.edu.iuh.fit.backend.dto.request.RegisterRequest;
+import vn.edu.iuh.fit.backend.exception.CredentialAlreadyExistException;
+import vn.edu.iuh.fit.backend.exception.InvalidCredentialException;
+import vn.edu.iuh.fit.backend.exception.TooManyRequestsException;
+import vn.edu.iuh.fit.backend.model.User;
+import vn.edu.iuh.fit.backend.repository.RoleRepository;
+import vn.edu.iuh.fit.backend.repository.UserRepository;
+import vn.edu.iuh.fit.backend.service.AuthService;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class AuthServiceImplTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void loginLoadsTheUserOnce() {
+        createUser("login-once");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertNotNull(authService.login(new LoginRequest("login-once", "secret"), "10.0.0.1").getJwt());
+        assertEquals(1, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    void repeatedFailuresAreRefusedEvenWithTheRightPassword() {
+        createUser("login-locked");
+        for (int i = 0; i < 5; i++) {
+            assertThrows(InvalidCredentialException.class,
+                    () -> authService.login(new LoginRequest("login-locked", "wrong"), "10.0.0.2"));
+        }
+
+        assertThrows(TooManyRequestsException.class,
+                () -> authService.login(new LoginRequest("login-locked", "secret"), "10.0.0.3"));
+    }
+
+    @Test
+    void registrationIsASingleInsert() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        authService.registerNewUser(registerRequest("register-new", "register-new@example.com"));
+
+        // The user row and its role link, no exists checks and no role lookup
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void duplicatesAreReportedFromTheUniqueKeys() {
+        createUser("register-taken");
+
+        CredentialAlreadyExistException username = assertThrows(CredentialAlreadyExistException.class,
+                () -> authService.registerNewUser(registerRequest("register-taken", "other@example.com")));
+        CredentialAlreadyExistException email = assertThrows(CredentialAlreadyExistException.class,
+                () -> authService.registerNewUser(registerRequest("other", "register-taken@example.com")));
+
+        assertEquals("Tên tài khoản đã tồn tại!", username.getMessage());
+        assertEquals("Email đã tồn tại!", email.getMessage());
+    }
+
+    private RegisterRequest registerRequest(String username, String email) {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setPassword("secret");
+        request.setEmail(email);
+        return request;
+    }
+
+    private void createUser(String username) {
+        User user = TestData.user(username, roleRepository.findByRoleName("ROLE_USER").orElseThrow());
+        user.setPassword(passwordEncoder.encode("secret"));
+        userRepository.save(user);
+    }
+}
@@ -0,0 +1,58 @@
+package vn.edu.iuh.fit.backend.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import vn.edu.iuh.fit.backend.TestData;
+import vn.edu.iuh.fit.backend.model.Post;
+import vn.edu.iuh.fit.backend.model.User;
+import vn.edu.iuh.fit.backend.repository.PostRepository;
+import vn.edu.iuh.fit.backend.repository.UserRepository;
+import vn.edu.iuh.fit.backend.service.ExcerptBackfillService;
+import vn.edu.iuh.fit.backend.util.ExcerptUtil;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+class ExcerptBackfillServiceImplTest {
+
+    @Autowired
+    private ExcerptBackfillService excerptBackfillService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void fillsOnlyTheRangeWithTheSameExcerptAsOnCreate() {
+        User author = userRepository.save(TestData.user("backfiller"));
+
+        String content = "  Long\n\nbody " + "word ".repeat(100);
+        Post inRange = save(author, content);
+        Post outOfRange = save(author, content);
+
+        int written = excerptBackfillService.backfillRange(inRange.getId() - 1, inRange.getId());
+
+        assertEquals(1, written);
+        assertEquals(ExcerptUtil.excerptOf(content), postRepository.findById(inRange.getId()).orElseThrow().getExcerpt());
+        assertNull(postRepository.findById(outOfRange.getId()).orElseThrow().getExcerpt());
+    }
+
+    private Post save(User author, String content) {
+        // Written before the excerpt column existed
+        Post post = TestData.post(author, "Old post", content);
+        post.setExcerpt(null);
+        return postRepository.save(post);
+    }
+}
@@ -0,0 +1,83 @@
+package vn.edu.iuh.fit.backend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import vn.edu.iuh.fit.backend.TestData;
+import vn.edu.iuh.fit.backend.model.Post;
+import vn.edu.iuh.fit.backend.model.User;
+import vn.edu.iuh.fit.backend.repository.PostRepository;
+import vn.edu.iuh.fit.backend.repository.UserRepository;
+import vn.edu.iuh.fit.backend.service.PostExportService;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "post.export.fetch-size=2")
+class PostExportServiceImplTest {
+
+    @Autowired
+    private PostExportService postExportService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Post> posts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User author = userRepository.save(TestData.user("exporter"));
+
+        String[] titles = {"Plain", "Comma, title", "Quote \"title\""};
+        for (String title : titles) {
+            posts.add(postRepository.save(TestData.post(author, title, "Line one\nLine two")));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+        posts.clear();
+    }
+
+    @Test
+    void ndjsonHasOneObjectPerPostInIdOrder() throws Exception {
+        String[] lines = export(PostExportService.Format.NDJSON).split("\n");
+
+        assertEquals(posts.size(), lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertEquals(posts.get(i).getId(), objectMapper.readTree(lines[i]).get("id").asLong());
+        }
+    }
+
+    @Test
+    void csvQuotesOnlyFieldsThatNeedIt() throws Exception {
+        String csv = export(PostExportService.Format.CSV);
+
+        assertTrue(csv.startsWith("id,title,content,authorId,authorUsername,createdAt,updatedAt\r\n"));
+        assertTrue(csv.contains(posts.get(0).getId() + ",Plain,\"Line one\nLine two\","));
+        assertTrue(csv.contains(",\"Comma, title\","));
+        assertTrue(csv.contains(",\"Quote \"\"title\"\"\","));
+    }
+
+    private String export(PostExportService.Format format) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        postExportService.exportPosts(format, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,143 @@
+package vn.edu.iuh.fit.backend.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import vn.edu.iuh.fit.backend.TestData;
+import vn.edu.iuh.fit.backend.model.PostCounter;
+import vn.edu.iuh.fit.backend.model.User;
+import vn.edu.iuh.fit.backend.repository.PostBatchRepository;
+import vn.edu.iuh.fit.backend.repository.PostBatchRepository.PostRow;
+import vn.edu.iuh.fit.backend.repository.PostCounterRepository;
+import vn.edu.iuh.fit.backend.repository.PostRepository;
+import vn.edu.iuh.fit.backend.repository.UserRepository;
+import vn.edu.iuh.fit.backend.service.PostImportService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = "post.bulk.chunk-size=2")
+class PostImportServiceImplTest {
+
+    @Autowired
+    private PostImportService postImportService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostCounterRepository postCounterRepository;
+
+    @MockitoSpyBean
+    private PostBatchRepository postBatchRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User author;
+
+    @BeforeEach
+    void setUp() {
+        author = userRepository.save(TestData.user("importer"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void importsValidLinesAndReportsEveryItem() throws Exception {
+        long totalBefore = postCounterRepository.findValueByName(PostCounter.TOTAL_POSTS).orElse(0L);
+        String input = String.join("\n",
+                "{\"title\":\"First\",\"content\":\"Body one\",\"author\":\"importer\"}",
+                "not json",
+                "",
+                "{\"title\":\"Second\",\"content\":\"Body two\",\"author\":\"importer\"}",
+                "{\"title\":\"Orphan\",\"content\":\"Body\",\"author\":\"nobody\"}",
+                "{\"title\":\"Third\",\"content\":\"Body three\",\"author\":\"importer\",\"createdAt\":\"2020-01-01T00:00:00Z\"}");
+
+        List<JsonNode> lines = runImport(input);
+
+        assertEquals(6, lines.size());
+        assertEquals("CREATED", lines.get(0).get("status").asText());
+        assertEquals("FAILED", lines.get(1).get("status").asText());
+        assertEquals(2, lines.get(1).get("line").asInt());
+        assertEquals("CREATED", lines.get(2).get("status").asText());
+        assertEquals(4, lines.get(2).get("line").asInt());
+        assertEquals("FAILED", lines.get(3).get("status").asText());
+        assertEquals("CREATED", lines.get(4).get("status").asText());
+        assertEquals(3, lines.get(5).get("created").asLong());
+        assertEquals(2, lines.get(5).get("failed").asLong());
+
+        long firstId = lines.get(0).get("id").asLong();
+        assertNotNull(postRepository.findPostResponseById(firstId).orElse(null));
+        assertEquals(3, postRepository.count());
+        assertEquals(3, userRepository.findPostCountByUserId(author.getUserId()));
+        assertEquals(totalBefore + 3, postCounterRepository.findValueByName(PostCounter.TOTAL_POSTS).orElse(0L));
+    }
+
+    @Test
+    void authorsMarkedDeletedAreUnknown() throws Exception {
+        author.setDeletedAt(new Date());
+        userRepository.save(author);
+
+        List<JsonNode> lines = runImport("{\"title\":\"Late\",\"content\":\"Body\",\"author\":\"importer\"}");
+
+        assertEquals("FAILED", lines.get(0).get("status").asText());
+        assertEquals(0, postRepository.count());
+    }
+
+    @Test
+    void rowsTheDatabaseRejectsFailAloneAndOversizedContentIsRefusedUpFront() throws Exception {
+        // Stands in for a constraint the database enforces but validation does not know about
+        doAnswer(invocation -> {
+            List<PostRow> rows = invocation.getArgument(0);
+            if (rows.stream().anyMatch(row -> row.title().equals("Rejected"))) {
+                throw new DataIntegrityViolationException("rejected");
+            }
+            return invocation.callRealMethod();
+        }).when(postBatchRepository).insertAll(anyList());
+        String input = String.join("\n",
+                "{\"title\":\"First\",\"content\":\"Body\",\"author\":\"importer\"}",
+                "{\"title\":\"Rejected\",\"content\":\"Body\",\"author\":\"importer\"}",
+                "{\"title\":\"Huge\",\"content\":\"" + "ệ".repeat(30_000) + "\",\"author\":\"importer\"}");
+
+        List<JsonNode> lines = runImport(input);
+
+        assertEquals("CREATED", lines.get(0).get("status").asText());
+        assertEquals("FAILED", lines.get(1).get("status").asText());
+        assertEquals("FAILED", lines.get(2).get("status").asText());
+        assertEquals(1, postRepository.count());
+        assertEquals(1, userRepository.findPostCountByUserId(author.getUserId()));
+    }
+
+    private List<JsonNode> runImport(String input) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        postImportService.importPosts(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,182 @@
+package vn.edu.iuh.fit.backend.service.impl;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import vn.edu.iuh.fit.backend.TestData;
+import vn.edu.iuh.fit.backend.dto.request.CreatePostRequest;
+import vn.edu.iuh.fit.backend.dto.request.UpdatePostRequest;
+import vn.edu.iuh.fit.backend.dto.response.PaginatedPostsResponse;
+import vn.edu.iuh.fit.backend.dto.response.PostResponse;
+import vn.edu.iuh.fit.backend.dto.response.PostSummaryResponse;
+import vn.edu.iuh.fit.backend.exception.BadRequestException;
+import vn.edu.iuh.fit.backend.model.User;
+import vn.edu.iuh.fit.backend.repository.PostRepository;
+import vn.edu.iuh.fit.backend.repository.UserRepository;
+import vn.edu.iuh.fit.backend.search.PostSearchIndex;
+import vn.edu.iuh.fit.backend.service.PostService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class PostServiceImplTest {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+
+    private Statistics statistics;
+    private final List<User> authors = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            User user = TestData.user("author" + i);
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            authors.add(userRepository.save(user));
+        }
+        for (int i = 0; i < PAGE_SIZE * 2; i++) {
+            postRepository.save(TestData.post(authors.get(i % authors.size()), "Post " + i, "Content " + i));
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "author0", null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+        authors.clear();
+    }
+
+    @Test
+    void offsetPageIsLoadedWithOneStatement() {
+        PaginatedPostsResponse<PostResponse> page = postService.getAllPosts(0, PAGE_SIZE, "createdAt", "desc", false, false);
+
+        assertEquals(PAGE_SIZE, page.getPosts().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void cursorPageIsLoadedWithOneStatement() {
+        PaginatedPostsResponse<PostResponse> first = postService.getPostsByCursor(null, null, PAGE_SIZE, "desc", false);
+        statistics.clear();
+
+        PaginatedPostsResponse<PostResponse> second = postService.getPostsByCursor(first.getNextCursor(), null, PAGE_SIZE, "desc", false);
+
+        assertEquals(PAGE_SIZE, second.getPosts().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void myPostsOnlyAddsTheAuthorIdLookup() {
+        PaginatedPostsResponse<PostResponse> page = postService.getAllPosts(0, PAGE_SIZE, "createdAt", "desc", true, false);
+
+        assertEquals(PAGE_SIZE * 2 / authors.size(), page.getPosts().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void summaryPageReturnsStoredExcerpts() {
+        PaginatedPostsResponse<PostSummaryResponse> page =
+                postService.getPostSummaries(0, PAGE_SIZE, "createdAt", "desc", false, false);
+
+        assertEquals(PAGE_SIZE, page.getPosts().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        PostSummaryResponse first = page.getPosts().get(0);
+        assertEquals("Content " + first.getTitle().substring("Post ".length()), first.getExcerpt());
+    }
+
+    @Test
+    void postByIdCarriesTheAuthorId() {
+        Long postId = postRepository.findAll().get(0).getId();
+        statistics.clear();
+
+        PostResponse post = postService.getPostById(postId);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        User author = userRepository.findByUsername(post.getAuthor().getUsername()).orElseThrow();
+        assertEquals(author.getUserId(), post.getAuthor().getId());
+    }
+
+    @Test
+    void createdPostsAreSearchableWithoutAccents() throws InterruptedException {
+        CreatePostRequest request = new CreatePostRequest();
+        request.setTitle("Hướng dẫn nấu phở");
+        request.setContent("Nước dùng được hầm từ xương bò.");
+        PostResponse created = postService.createPost(request);
+
+        // Indexing happens on the writer thread after commit
+        List<PostSummaryResponse> found = List.of();
+        for (int attempt = 0; attempt < 50 && found.isEmpty(); attempt++) {
+            Thread.sleep(100);
+            if (postSearchIndex.isReady()) {
+                found = postService.searchPosts("huong dan nau pho", 0, 10).getPosts();
+            }
+        }
+
+        assertTrue(!found.isEmpty());
+        assertEquals(created.getId(), found.get(0).getId());
+    }
+
+    @Test
+    void searchPagesThatWouldOverflowAreRejected() {
+        assertThrows(BadRequestException.class, () -> postService.searchPosts("pho", 1073741824, 4));
+        assertThrows(BadRequestException.class, () -> postService.searchPosts("pho", 1, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void postByIdIsCachedUntilItChanges() {
+        CreatePostRequest request = new CreatePostRequest();
+        request.setTitle("Cached");
+        request.setContent("Body");
+        Long postId = postService.createPost(request).getId();
+        postService.getPostById(postId);
+        statistics.clear();
+
+        assertEquals("Cached", postService.getPostById(postId).getTitle());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        UpdatePostRequest update = new UpdatePostRequest();
+        update.setTitle("Edited");
+        update.setContent("Body");
+        postService.updatePost(postId, update);
+
+        assertEquals("Edited", postService.getPostById(postId).getTitle());
+    }
+}
@@ -0,0 +1,126 @@
+package vn.edu.iuh.fit.backend.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import vn.edu.iuh.fit.backend.TestData;
+import vn.edu.iuh.fit.backend.dto.response.UserPurgeResponse;
+import vn.edu.iuh.fit.backend.event.PostsPurgedEvent;
+import vn.edu.iuh.fit.backend.exception.UserNotFoundException;
+import vn.edu.iuh.fit.backend.model.PostCounter;
+import vn.edu.iuh.fit.backend.model.User;
+import vn.edu.iuh.fit.backend.model.UserPurge;
+import vn.edu.iuh.fit.backend.repository.PostCounterRepository;
+import vn.edu.iuh.fit.backend.repository.PostRepository;
+import vn.edu.iuh.fit.backend.repository.UserPurgeRepository;
+import vn.edu.iuh.fit.backend.repository.UserRepository;
+import vn.edu.iuh.fit.backend.service.PostService;
+import vn.edu.iuh.fit.backend.service.UserPurgeService;
+import vn.edu.iuh.fit.backend.service.UserService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "user.purge.chunk-size=2")
+@RecordApplicationEvents
+class UserPurgeServiceImplTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserPurgeService userPurgeService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostCounterRepository postCounterRepository;
+
+    @Autowired
+    private UserPurgeRepository userPurgeRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private User author;
+
+    @BeforeEach
+    void setUp() {
+        author = userRepository.save(TestData.user("leaving"));
+        for (int i = 0; i < 5; i++) {
+            postRepository.save(TestData.post(author, "Post " + i, "Content " + i));
+        }
+        postCounterRepository.findById(PostCounter.TOTAL_POSTS).ifPresent(counter -> {
+            counter.setValue(5);
+            postCounterRepository.save(counter);
+        });
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+        userPurgeRepository.deleteAll();
+    }
+
+    @Test
+    void deleteOnlyMarksTheUserAndThePurgeRemovesPostsInChunks() {
+        userService.deleteUser(author.getUserId());
+
+        assertThrows(UserNotFoundException.class, () -> userService.getUserById(author.getUserId()));
+        assertEquals(5, postRepository.count());
+        // Single reads follow the same rule as the feed and search until the purge runs
+        Long postId = postRepository.findIdsByAuthorId(author.getUserId(), Limit.of(1)).get(0);
+        assertEquals(postId, postService.getPostById(postId).getId());
+        assertEquals(UserPurge.Status.PENDING, userService.getPurgeStatus(author.getUserId()).getStatus());
+        assertEquals(List.of(author.getUserId()), userPurgeService.findPendingUserIds());
+
+        int chunks = 1;
+        while (!userPurgeService.purgeNextChunk(author.getUserId())) {
+            chunks++;
+        }
+
+        UserPurgeResponse status = userService.getPurgeStatus(author.getUserId());
+        assertEquals(3, chunks);
+        assertEquals(UserPurge.Status.DONE, status.getStatus());
+        assertEquals(5, status.getPostsDeleted());
+        assertNotNull(status.getCompletedAt());
+        assertEquals(0, postRepository.count());
+        assertFalse(userRepository.existsById(author.getUserId()));
+        assertEquals(0L, postCounterRepository.findValueByName(PostCounter.TOTAL_POSTS).orElseThrow());
+    }
+
+    @Test
+    void everyPurgedPostIsAnnouncedSoCachesAndTheIndexDropIt() {
+        List<Long> postIds = postRepository.findIdsByAuthorId(author.getUserId(), Limit.unlimited());
+        userService.deleteUser(author.getUserId());
+
+        while (!userPurgeService.purgeNextChunk(author.getUserId())) {
+            // next chunk
+        }
+
+        assertEquals(postIds, events.stream(PostsPurgedEvent.class)
+                .flatMap(event -> event.postIds().stream())
+                .toList());
+    }
+}
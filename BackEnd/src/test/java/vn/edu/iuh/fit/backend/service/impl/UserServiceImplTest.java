@@ -0,0 +1,121 @@
+package vn.edu.iuh.fit.backend.service.impl;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import vn.edu.iuh.fit.backend.TestData;
+import vn.edu.iuh.fit.backend.dto.response.PaginatedUsersResponse;
+import vn.edu.iuh.fit.backend.dto.response.UserResponse;
+import vn.edu.iuh.fit.backend.exception.BadRequestException;
+import vn.edu.iuh.fit.backend.model.Role;
+import vn.edu.iuh.fit.backend.model.User;
+import vn.edu.iuh.fit.backend.repository.RoleRepository;
+import vn.edu.iuh.fit.backend.repository.UserRepository;
+import vn.edu.iuh.fit.backend.service.UserService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class UserServiceImplTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Role userRole = roleRepository.findByRoleName("ROLE_USER").orElseThrow();
+        Role adminRole = roleRepository.findByRoleName("ROLE_ADMIN").orElseThrow();
+        for (int i = 0; i < 12; i++) {
+            String username = (i % 2 == 0 ? "anna" : "bob") + i;
+            User user = i == 0 ? TestData.user(username, userRole, adminRole) : TestData.user(username, userRole);
+            // Prefix search matches the email too
+            user.setEmail("member" + i + "@example.com");
+            userRepository.save(user);
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void pageIsOneQueryWithRolesAggregated() {
+        PaginatedUsersResponse page = userService.getUsers(0, 5, null, null, null);
+
+        assertEquals(5, page.getUsers().size());
+        assertTrue(page.isHasNext());
+        assertEquals("ROLE_ADMIN,ROLE_USER", page.getUsers().get(0).getRole());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void invalidOrOversizedPagesAreRejected() {
+        assertThrows(BadRequestException.class, () -> userService.getUsers(-1, 5, null, null, null));
+        assertThrows(BadRequestException.class, () -> userService.getUsers(0, 0, null, null, null));
+        assertThrows(BadRequestException.class, () -> userService.getUsers(0, 101, null, null, null));
+        assertThrows(BadRequestException.class, () -> userService.getUsers(Integer.MAX_VALUE, 100, null, null, null));
+    }
+
+    @Test
+    void keysetContinuesWhereThePageEnded() {
+        PaginatedUsersResponse first = userService.getUsers(0, 5, null, null, null);
+        PaginatedUsersResponse second = userService.getUsers(0, 5, first.getNextCursor(), null, null);
+        PaginatedUsersResponse offset = userService.getUsers(1, 5, null, null, null);
+
+        assertEquals(offset.getUsers().stream().map(UserResponse::getId).toList(),
+                second.getUsers().stream().map(UserResponse::getId).toList());
+        assertTrue(second.isHasPrevious());
+    }
+
+    @Test
+    void prefixSearchMatchesUsernameOrEmailAndFiltersByRole() {
+        assertEquals(6, userService.getUsers(0, 20, null, "anna", null).getUsers().size());
+        assertEquals(3, userService.getUsers(0, 20, null, "member1", null).getUsers().size());
+        assertEquals(0, userService.getUsers(0, 20, null, "%", null).getUsers().size());
+
+        List<UserResponse> admins = userService.getUsers(0, 20, null, null, "ROLE_ADMIN").getUsers();
+        assertEquals(1, admins.size());
+        assertEquals("ROLE_ADMIN,ROLE_USER", admins.get(0).getRole());
+    }
+
+    @Test
+    void userIsLoadedWithItsRolesInOneQuery() {
+        Long id = userRepository.findIdByUsername("anna0").orElseThrow();
+        statistics.clear();
+
+        UserResponse user = userService.getUserById(id);
+
+        assertTrue(user.getRole().contains("ROLE_ADMIN"));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
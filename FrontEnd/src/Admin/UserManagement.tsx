@@ -7,20 +7,42 @@ import type { RootState } from "../store/store";
 import { deleteUser, fetchUsers } from "../store/slices/userSlice";
 import { addToast } from "../store/slices/toastSlice";
 
+const PAGE_SIZE = 20;
+
 const UserManagement: React.FC = () => {
   const dispatch = useDispatch();
-  const { users, loading, error } = useSelector(
-    (state: RootState) => state.users
-  );
+  const { users, currentPage, hasNext, hasPrevious, loading, error } =
+    useSelector((state: RootState) => state.users);
   const { user: currentUser } = useSelector((state: RootState) => state.auth);
 
   const [searchTerm, setSearchTerm] = useState("");
+  const [debouncedSearch, setDebouncedSearch] = useState("");
   const [roleFilter, setRoleFilter] = useState("");
+  const [page, setPage] = useState(0);
   const [isDeleting, setIsDeleting] = useState<number | null>(null);
 
+  // Wait for typing to pause before asking the server
+  useEffect(() => {
+    const timer = setTimeout(() => {
+      setDebouncedSearch(searchTerm.trim());
+      setPage(0);
+    }, 300);
+    return () => clearTimeout(timer);
+  }, [searchTerm]);
+
+  const loadUsers = () =>
+    dispatch(
+      fetchUsers({
+        page,
+        size: PAGE_SIZE,
+        q: debouncedSearch,
+        role: roleFilter,
+      }) as any
+    );
+
   useEffect(() => {
-    dispatch(fetchUsers() as any);
-  }, [dispatch]);
+    loadUsers();
+  }, [dispatch, page, debouncedSearch, roleFilter]);
 
   useEffect(() => {
     if (error) {
@@ -60,21 +82,6 @@ const UserManagement: React.FC = () => {
     }
   };
 
-  const filteredUsers = Array.isArray(users)
-    ? users.filter((user) => {
-        const matchesSearch =
-          user.username.toLowerCase().includes(searchTerm.toLowerCase()) ||
-          user.email.toLowerCase().includes(searchTerm.toLowerCase()) ||
-          `${user.firstName} ${user.lastName}`
-            .toLowerCase()
-            .includes(searchTerm.toLowerCase());
-
-        const matchesRole = roleFilter === "" || user.role === roleFilter;
-
-        return matchesSearch && matchesRole;
-      })
-    : [];
-
   if (loading && users.length === 0) {
     return (
       <div
@@ -104,11 +111,11 @@ const UserManagement: React.FC = () => {
         </h1>
         <div className="d-flex align-items-center gap-3">
           <div className="badge bg-primary fs-6">
-            {filteredUsers.length} người dùng
+            Trang {currentPage + 1}
           </div>
           <button
             className="btn btn-outline-primary btn-sm"
-            onClick={() => dispatch(fetchUsers() as any)}
+            onClick={loadUsers}
             disabled={loading}
           >
             <i className="fas fa-sync-alt me-1"></i>
@@ -134,7 +141,7 @@ const UserManagement: React.FC = () => {
                   type="text"
                   className="form-control"
                   id="search"
-                  placeholder="Tìm theo tên đăng nhập, email hoặc họ tên..."
+                  placeholder="Tìm theo phần đầu tên đăng nhập hoặc email..."
                   value={searchTerm}
                   onChange={(e) => setSearchTerm(e.target.value)}
                 />
@@ -159,7 +166,10 @@ const UserManagement: React.FC = () => {
                 className="form-select"
                 id="roleFilter"
                 value={roleFilter}
-                onChange={(e) => setRoleFilter(e.target.value)}
+                onChange={(e) => {
+                  setRoleFilter(e.target.value);
+                  setPage(0);
+                }}
               >
                 <option value="">Tất cả vai trò</option>
                 <option value="ROLE_USER">Người dùng</option>
@@ -171,7 +181,7 @@ const UserManagement: React.FC = () => {
       </div>
 
       {/* Users Table */}
-      {filteredUsers.length === 0 ? (
+      {users.length === 0 ? (
         <div className="text-center py-5">
           <i className="fas fa-users fa-4x text-muted mb-4"></i>
           <h3 className="text-muted mb-3">Không tìm thấy người dùng nào</h3>
@@ -207,7 +217,7 @@ const UserManagement: React.FC = () => {
                 </tr>
               </thead>
               <tbody>
-                {filteredUsers.map((user) => (
+                {users.map((user) => (
                   <tr
                     key={user.id}
                     className={isDeleting === user.id ? "opacity-50" : ""}
@@ -245,7 +255,7 @@ const UserManagement: React.FC = () => {
                     </td>
                     <td>
                       <span>
-                        {user.role === "ROLE_ADMIN"
+                        {user.role?.split(",").includes("ROLE_ADMIN")
                           ? "Quản trị viên"
                           : "Người dùng"}
                       </span>
@@ -284,13 +294,26 @@ const UserManagement: React.FC = () => {
           <div className="card-footer bg-light">
             <div className="d-flex justify-content-between align-items-center">
               <small className="text-muted">
-                Hiển thị {filteredUsers.length} / {users.length} người dùng
-              </small>
-              <small className="text-muted">
-                Quản trị viên:{" "}
-                {users.filter((u) => u.role === "ROLE_ADMIN").length} | Người
-                dùng: {users.filter((u) => u.role === "ROLE_USER").length}
+                Hiển thị {users.length} người dùng trên trang {currentPage + 1}
               </small>
+              <div className="btn-group btn-group-sm">
+                <button
+                  className="btn btn-outline-secondary"
+                  onClick={() => setPage(page - 1)}
+                  disabled={!hasPrevious || loading}
+                >
+                  <i className="fas fa-chevron-left me-1"></i>
+                  Trước
+                </button>
+                <button
+                  className="btn btn-outline-secondary"
+                  onClick={() => setPage(page + 1)}
+                  disabled={!hasNext || loading}
+                >
+                  Sau
+                  <i className="fas fa-chevron-right ms-1"></i>
+                </button>
+              </div>
             </div>
           </div>
         </div>
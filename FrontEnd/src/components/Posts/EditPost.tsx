@@ -71,7 +71,7 @@ const EditPost: React.FC = () => {
 
       setFormData({
         title: currentPost.title,
-        content: currentPost.content,
+        content: currentPost.content ?? "",
       })
     }
   }, [currentPost, user, navigate, dispatch])
@@ -11,6 +11,7 @@ import {
   type Post,
 } from "../../store/slices/postSlice";
 import { addToast } from "../../store/slices/toastSlice";
+import { postAPI } from "../../services/api";
 import PostCard from "./PostCard";
 
 const PostList: React.FC = () => {
@@ -29,6 +30,7 @@ const PostList: React.FC = () => {
   });
 
   const [searchTerm, setSearchTerm] = useState("");
+  const [suggestions, setSuggestions] = useState<{ id: number; title: string }[]>([]);
   const [isDeleting, setIsDeleting] = useState<number | null>(null);
   const [filteredPosts, setFilteredPosts] = useState<Post[]>([]);
 
@@ -36,6 +38,33 @@ const PostList: React.FC = () => {
     dispatch(fetchPosts(filters) as any);
   }, [dispatch, filters]);
 
+  // Title suggestions, debounced so fast typing sends one request
+  useEffect(() => {
+    const prefix = searchTerm.trim();
+    if (!prefix) {
+      setSuggestions([]);
+      return;
+    }
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try {
+        const response = await postAPI.suggestTitles(prefix);
+        if (!cancelled) {
+          setSuggestions(response.data.data);
+        }
+      } catch {
+        // Suggestions are best effort, the search box keeps working without them
+        if (!cancelled) {
+          setSuggestions([]);
+        }
+      }
+    }, 150);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [searchTerm]);
+
   // Filter posts based on search term
   useEffect(() => {
     if (!searchTerm.trim()) {
@@ -169,7 +198,14 @@ const PostList: React.FC = () => {
                 placeholder="Tìm kiếm bài viết theo tiêu đề..."
                 value={searchTerm}
                 onChange={(e) => setSearchTerm(e.target.value)}
+                list="post-title-suggestions"
+                autoComplete="off"
               />
+              <datalist id="post-title-suggestions">
+                {suggestions.map((suggestion) => (
+                  <option key={suggestion.id} value={suggestion.title} />
+                ))}
+              </datalist>
               {searchTerm && (
                 <button 
                   className="btn btn-outline-secondary" 
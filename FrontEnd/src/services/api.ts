@@ -11,6 +11,10 @@ const api = axios.create({
   },
 })
 
+// Last ETag and body per GET url, replayed when the server answers 304 Not Modified
+const validators = new Map<string, { etag: string; data: unknown }>()
+const MAX_VALIDATORS = 100
+
 // Add token to requests
 api.interceptors.request.use((config) => {
   const token = localStorage.getItem("token")
@@ -20,14 +24,41 @@ api.interceptors.request.use((config) => {
     }
     config.headers.Authorization = `Bearer ${token}`
   }
+  if ((config.method ?? "get") === "get" && config.url) {
+    const cached = validators.get(config.url)
+    if (cached) {
+      config.headers["If-None-Match"] = cached.etag
+    }
+    config.validateStatus = (status) => (status >= 200 && status < 300) || status === 304
+  }
   return config
 })
 
 // Handle token expiration
 api.interceptors.response.use(
-  (response) => response,
+  (response) => {
+    const url = response.config.url
+    if ((response.config.method ?? "get") !== "get" || !url) {
+      return response
+    }
+    const cached = validators.get(url)
+    if (response.status === 304 && cached) {
+      return { ...response, status: 200, data: cached.data }
+    }
+    const etag = response.headers["etag"]
+    if (etag) {
+      // Re-inserting keeps the map in least recently used order
+      validators.delete(url)
+      validators.set(url, { etag, data: response.data })
+      if (validators.size > MAX_VALIDATORS) {
+        validators.delete(validators.keys().next().value as string)
+      }
+    }
+    return response
+  },
   (error) => {
     if (error.response?.status === 401) {
+      validators.clear()
       localStorage.removeItem("token")
       window.location.href = "/login"
     }
@@ -55,6 +86,7 @@ export const postAPI = {
       sortBy?: string
       direction?: string
       myPosts?: boolean
+      view?: "full" | "summary"
     } = {},
   ) => {
     const queryParams = new URLSearchParams()
@@ -63,10 +95,15 @@ export const postAPI = {
     if (params.sortBy) queryParams.append("sortBy", params.sortBy)
     if (params.direction) queryParams.append("direction", params.direction)
     if (params.myPosts) queryParams.append("my-posts", "true")
+    if (params.view) queryParams.append("view", params.view)
 
     return api.get(`/posts?${queryParams.toString()}`)
   },
   
+  // Title type-ahead, answered from the server's in-memory index
+  suggestTitles: (prefix: string, limit = 8) =>
+    api.get(`/posts/suggest?${new URLSearchParams({ prefix, limit: limit.toString() }).toString()}`),
+
   getPostById: (id: number) => api.get(`/posts/${id}`),
   createPost: (postData: { title: string; content: string }) => api.post("/posts", postData),
   updatePost: (id: number, postData: { title: string; content: string }) => api.put(`/posts/${id}`, postData),
@@ -74,7 +111,15 @@ export const postAPI = {
 }
 
 export const userAPI = {
-  getAllUsers: () => api.get("/users"),
+  getAllUsers: (params: { page?: number; size?: number; q?: string; role?: string } = {}) => {
+    const queryParams = new URLSearchParams()
+    if (params.page !== undefined) queryParams.append("page", params.page.toString())
+    if (params.size !== undefined) queryParams.append("size", params.size.toString())
+    if (params.q) queryParams.append("q", params.q)
+    if (params.role) queryParams.append("role", params.role)
+
+    return api.get(`/users?${queryParams.toString()}`)
+  },
   getCurrentUser: () => api.get("/users/me"),
   deleteUser: (id: number) => api.delete(`/users/${id}`),
 }
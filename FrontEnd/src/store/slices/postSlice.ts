@@ -4,7 +4,9 @@ import { postAPI } from "../../services/api";
 export interface Post {
   id: number;
   title: string;
-  content: string;
+  // Listing pages use view=summary and only receive the excerpt
+  content?: string;
+  excerpt?: string;
   author: {
     id: number;
     username: string;
@@ -52,7 +54,7 @@ export const fetchPosts = createAsyncThunk(
       myPosts?: boolean;
     } = {}
   ) => {
-    const response = await postAPI.getAllPosts(params);
+    const response = await postAPI.getAllPosts({ view: "summary", ...params });
     const result = response.data as {
       success: boolean;
       message: string;
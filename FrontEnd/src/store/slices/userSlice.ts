@@ -13,25 +13,50 @@ interface User {
 
 interface UserState {
   users: User[]
+  currentPage: number
+  hasNext: boolean
+  hasPrevious: boolean
   loading: boolean
   error: string | null
 }
 
+interface PaginatedUsers {
+  users: User[]
+  currentPage: number
+  hasNext: boolean
+  hasPrevious: boolean
+  nextCursor: number | null
+}
+
+export interface FetchUsersParams {
+  page?: number
+  size?: number
+  q?: string
+  role?: string
+}
+
 const initialState: UserState = {
   users: [],
+  currentPage: 0,
+  hasNext: false,
+  hasPrevious: false,
   loading: false,
   error: null,
 }
 
-export const fetchUsers = createAsyncThunk<User[]>("users/fetchUsers", async () => {
-  const response = await userAPI.getAllUsers();
-  const result = response.data as {
-    success: boolean;
-    message: string;
-    data: User[];
-  };
-  return result.data;
-})
+// Search and role filtering happen on the server, one page at a time
+export const fetchUsers = createAsyncThunk<PaginatedUsers, FetchUsersParams | undefined>(
+  "users/fetchUsers",
+  async (params = {}) => {
+    const response = await userAPI.getAllUsers(params);
+    const result = response.data as {
+      success: boolean;
+      message: string;
+      data: PaginatedUsers;
+    };
+    return result.data;
+  }
+)
 
 export const deleteUser = createAsyncThunk("users/deleteUser", async (id: number) => {
   await userAPI.deleteUser(id)
@@ -54,7 +79,10 @@ const userSlice = createSlice({
       })
       .addCase(fetchUsers.fulfilled, (state, action) => {
         state.loading = false
-        state.users = action.payload
+        state.users = action.payload.users
+        state.currentPage = action.payload.currentPage
+        state.hasNext = action.payload.hasNext
+        state.hasPrevious = action.payload.hasPrevious
       })
       .addCase(fetchUsers.rejected, (state, action) => {
         state.loading = false